@@ -0,0 +1,70 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.DefaultAclSidLookupStrategy;
+import com.jahnelgroup.springframework.security.acl.annotations.mapper.DefaultAclAceToSidMapper;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.acls.model.Sid;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultAclAceToSidMapper#mapFieldToSids(Object, Field, AclAce)} for an {@link AclAce} collection
+ * of entities, with the sids served from the shared pool once warm.
+ *
+ * @author Steven Zgaljic
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AceToSidMapperBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Mapper {
+        DefaultAclAceToSidMapper mapper;
+        Field field;
+        AclAce aclAce;
+
+        @Setup(Level.Trial)
+        public void setup() throws NoSuchFieldException {
+            AclSecuredMetadataRegistry registry = new AclSecuredMetadataRegistry();
+            mapper = new DefaultAclAceToSidMapper(new DefaultAclSidLookupStrategy(registry), registry);
+            field = Document.class.getDeclaredField("ace0");
+            aclAce = field.getAnnotation(AclAce.class);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Entities {
+        @Param({"1", "10", "100", "1000"})
+        int collectionSize;
+
+        Document document;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            document = BenchmarkFixtures.document(1, null, collectionSize);
+        }
+    }
+
+    @Benchmark
+    public List<Sid> mapFieldToSids(Mapper mapper, Entities entities) {
+        return mapper.mapper.mapFieldToSids(entities.document, mapper.field, mapper.aclAce);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks once per thread count with the gc profiler enabled. Accepts the regular JMH command line, a
+ * single thread count can be forced with -t and the results of each run are written to the -rff file suffixed with
+ * the thread count.
+ *
+ * <pre>
+ * mvn install
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar SaveAclBenchmark -rf json -rff save-acl.json
+ * </pre>
+ *
+ * @author Steven Zgaljic
+ */
+public class AclBenchmarkRunner {
+
+    private static final List<Integer> THREADS = Arrays.asList(1, 4, 8);
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if( options.shouldHelp() || options.shouldList() || options.shouldListProfilers()
+                || options.shouldListResultFormats() || options.shouldListWithParams() ){
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        List<Integer> threads = options.getThreads().hasValue() ?
+                Arrays.asList(options.getThreads().get()) : new ArrayList<>(THREADS);
+
+        for(Integer count : threads){
+            ChainedOptionsBuilder builder = new OptionsBuilder().parent(options).threads(count);
+            if( !hasGcProfiler(options) )
+                builder.addProfiler(GCProfiler.class);
+            if( options.getResult().hasValue() )
+                builder.result(suffix(options.getResult().get(), count));
+            new Runner(builder.build()).run();
+        }
+    }
+
+    private static boolean hasGcProfiler(CommandLineOptions options) {
+        return options.getProfilers().stream().anyMatch(p -> "gc".equals(p.getKlass())
+                || GCProfiler.class.getName().equals(p.getKlass()));
+    }
+
+    private static String suffix(String file, int threads) {
+        int dot = file.lastIndexOf('.');
+        return dot < 0 ? file + "-t" + threads : file.substring(0, dot) + "-t" + threads + file.substring(dot);
+    }
+}
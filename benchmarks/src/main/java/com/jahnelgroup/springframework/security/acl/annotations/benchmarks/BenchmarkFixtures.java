@@ -0,0 +1,74 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.service.InMemoryMutableAclService;
+import org.springframework.security.acls.domain.ConsoleAuditLogger;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.MutableAclService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the handler and entities shared by the benchmarks. Every entity gets a unique id so that benchmark threads
+ * never write the same ACL.
+ *
+ * @author Steven Zgaljic
+ */
+final class BenchmarkFixtures {
+
+    private static final AtomicLong ids = new AtomicLong();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Returns an {@link InMemoryMutableAclService} so that the benchmarks measure the library rather than a
+     * database. Authorization checks are disabled.
+     *
+     * @return
+     */
+    static InMemoryMutableAclService aclService() {
+        InMemoryMutableAclService aclService = new InMemoryMutableAclService((acl, changeType) -> { },
+                new DefaultPermissionGrantingStrategy(new ConsoleAuditLogger()));
+        aclService.setDefaultOwner(new PrincipalSid("benchmark"));
+        return aclService;
+    }
+
+    static DefaultAclSecuredHandler handler(MutableAclService aclService) {
+        DefaultAclSecuredHandler handler = new DefaultAclSecuredHandler();
+        handler.setAclService(aclService);
+        handler.setPermissionFactory(new DefaultPermissionFactory());
+        handler.afterPropertiesSet();
+        return handler;
+    }
+
+    /**
+     * Returns the folders from the root down to the folder at the provided depth.
+     *
+     * @param depth
+     * @param collectionSize
+     * @return
+     */
+    static List<Folder> folders(int depth, int collectionSize) {
+        List<Folder> folders = new ArrayList<>(depth);
+        Folder parent = null;
+        for(int i=0; i<depth; i++){
+            parent = new Folder(ids.incrementAndGet(), parent, Document.members(i, collectionSize));
+            folders.add(parent);
+        }
+        return folders;
+    }
+
+    static Document document(int aceCount, Folder parent, int collectionSize) {
+        switch (aceCount){
+            case 1: return new Document(ids.incrementAndGet(), parent, collectionSize);
+            case 4: return new Document4(ids.incrementAndGet(), parent, collectionSize);
+            case 16: return new Document16(ids.incrementAndGet(), parent, collectionSize);
+            default: throw new IllegalArgumentException("Unsupported ACE count " + aceCount);
+        }
+    }
+}
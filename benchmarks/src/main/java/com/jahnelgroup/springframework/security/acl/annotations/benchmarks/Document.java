@@ -0,0 +1,54 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity with a single {@link AclAce} collection, {@link Document4} and {@link Document16} add more.
+ *
+ * @author Steven Zgaljic
+ */
+@AclSecured
+public class Document {
+
+    @AclObjectId
+    private Long id;
+
+    @AclParent
+    private Folder parent;
+
+    @AclAce(permissions = "READ")
+    private List<Member> ace0;
+
+    public Document(Long id, Folder parent, int collectionSize) {
+        this.id = id;
+        this.parent = parent;
+        this.ace0 = members(0, collectionSize);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Adds the member to the first {@link AclAce} collection, or removes it if it was added before.
+     *
+     * @param member
+     */
+    public void toggle(Member member) {
+        if( !ace0.remove(member) )
+            ace0.add(member);
+    }
+
+    static List<Member> members(int ace, int size) {
+        List<Member> members = new ArrayList<>(size);
+        for(int i=0; i<size; i++)
+            members.add(new Member("ace" + ace + "-member" + i));
+        return members;
+    }
+}
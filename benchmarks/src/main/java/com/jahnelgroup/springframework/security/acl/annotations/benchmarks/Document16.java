@@ -0,0 +1,67 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+
+import java.util.List;
+
+/**
+ * {@link Document} with sixteen {@link AclAce} collections.
+ *
+ * @author Steven Zgaljic
+ */
+@AclSecured
+public class Document16 extends Document4 {
+
+    @AclAce(permissions = "ADMINISTRATION")
+    private List<Member> ace4;
+
+    @AclAce(permissions = "READ")
+    private List<Member> ace5;
+
+    @AclAce(permissions = "WRITE")
+    private List<Member> ace6;
+
+    @AclAce(permissions = "CREATE")
+    private List<Member> ace7;
+
+    @AclAce(permissions = "DELETE")
+    private List<Member> ace8;
+
+    @AclAce(permissions = "ADMINISTRATION")
+    private List<Member> ace9;
+
+    @AclAce(permissions = "READ")
+    private List<Member> ace10;
+
+    @AclAce(permissions = "WRITE")
+    private List<Member> ace11;
+
+    @AclAce(permissions = "CREATE")
+    private List<Member> ace12;
+
+    @AclAce(permissions = "DELETE")
+    private List<Member> ace13;
+
+    @AclAce(permissions = "ADMINISTRATION")
+    private List<Member> ace14;
+
+    @AclAce(permissions = "READ")
+    private List<Member> ace15;
+
+    public Document16(Long id, Folder parent, int collectionSize) {
+        super(id, parent, collectionSize);
+        this.ace4 = members(4, collectionSize);
+        this.ace5 = members(5, collectionSize);
+        this.ace6 = members(6, collectionSize);
+        this.ace7 = members(7, collectionSize);
+        this.ace8 = members(8, collectionSize);
+        this.ace9 = members(9, collectionSize);
+        this.ace10 = members(10, collectionSize);
+        this.ace11 = members(11, collectionSize);
+        this.ace12 = members(12, collectionSize);
+        this.ace13 = members(13, collectionSize);
+        this.ace14 = members(14, collectionSize);
+        this.ace15 = members(15, collectionSize);
+    }
+}
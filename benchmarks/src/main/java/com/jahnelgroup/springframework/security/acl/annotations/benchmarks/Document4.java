@@ -0,0 +1,31 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+
+import java.util.List;
+
+/**
+ * {@link Document} with four {@link AclAce} collections.
+ *
+ * @author Steven Zgaljic
+ */
+@AclSecured
+public class Document4 extends Document {
+
+    @AclAce(permissions = "WRITE")
+    private List<Member> ace1;
+
+    @AclAce(permissions = "CREATE")
+    private List<Member> ace2;
+
+    @AclAce(permissions = "DELETE")
+    private List<Member> ace3;
+
+    public Document4(Long id, Folder parent, int collectionSize) {
+        super(id, parent, collectionSize);
+        this.ace1 = members(1, collectionSize);
+        this.ace2 = members(2, collectionSize);
+        this.ace3 = members(3, collectionSize);
+    }
+}
@@ -0,0 +1,40 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+
+import java.util.List;
+
+/**
+ * Folder making up the ACL hierarchy above a {@link Document}.
+ *
+ * @author Steven Zgaljic
+ */
+@AclSecured
+public class Folder {
+
+    @AclObjectId
+    private Long id;
+
+    @AclParent
+    private Folder parent;
+
+    @AclAce(permissions = "READ")
+    private List<Member> readers;
+
+    public Folder(Long id, Folder parent, List<Member> readers) {
+        this.id = id;
+        this.parent = parent;
+        this.readers = readers;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Folder getParent() {
+        return parent;
+    }
+}
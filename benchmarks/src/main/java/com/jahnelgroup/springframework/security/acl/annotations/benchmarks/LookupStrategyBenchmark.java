@@ -0,0 +1,103 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.DefaultAclAceLookupStrategy;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.DefaultAclObjectIdLookupStrategy;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.DefaultAclParentLookupStrategy;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.DefaultAclSidLookupStrategy;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
+import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each of the default lookup strategies against warm metadata.
+ *
+ * @author Steven Zgaljic
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupStrategyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Strategies {
+        DefaultAclAceLookupStrategy aceLookupStrategy;
+        DefaultAclObjectIdLookupStrategy objectIdLookupStrategy;
+        DefaultAclParentLookupStrategy parentLookupStrategy;
+        DefaultAclSidLookupStrategy sidLookupStrategy;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            AclSecuredMetadataRegistry registry = new AclSecuredMetadataRegistry();
+            aceLookupStrategy = new DefaultAclAceLookupStrategy(registry);
+            objectIdLookupStrategy = new DefaultAclObjectIdLookupStrategy(registry);
+            parentLookupStrategy = new DefaultAclParentLookupStrategy(registry);
+            sidLookupStrategy = new DefaultAclSidLookupStrategy(registry);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Entities {
+        @Param({"1", "4", "16"})
+        int aceCount;
+
+        @Param({"0", "1", "4"})
+        int depth;
+
+        Document document;
+        Member member = new Member("member");
+
+        @Setup(Level.Trial)
+        public void setup() {
+            List<Folder> folders = BenchmarkFixtures.folders(depth, 1);
+            document = BenchmarkFixtures.document(aceCount,
+                    folders.isEmpty() ? null : folders.get(folders.size() - 1), 1);
+        }
+    }
+
+    @Benchmark
+    public List<Tuple<Field, AclAce>> aceLookup(Strategies strategies, Entities entities) {
+        return strategies.aceLookupStrategy.lookup(entities.document);
+    }
+
+    @Benchmark
+    public Triple<Object, Field, AclObjectId> objectIdLookup(Strategies strategies, Entities entities) {
+        return strategies.objectIdLookupStrategy.lookup(entities.document);
+    }
+
+    @Benchmark
+    public Object objectIdAccessor(Strategies strategies, Entities entities) {
+        return strategies.objectIdLookupStrategy.lookupAccessor(entities.document).get(entities.document);
+    }
+
+    @Benchmark
+    public Triple<Object, Field, AclParent> parentLookup(Strategies strategies, Entities entities) {
+        return strategies.parentLookupStrategy.lookup(entities.document);
+    }
+
+    @Benchmark
+    public Triple<Object, Field, AclSid> sidLookup(Strategies strategies, Entities entities) {
+        return strategies.sidLookupStrategy.lookup(entities.member);
+    }
+}
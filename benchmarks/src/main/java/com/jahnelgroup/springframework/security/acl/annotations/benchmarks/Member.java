@@ -0,0 +1,23 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+
+/**
+ * Principal referenced by the {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce} collections
+ * of the benchmark entities.
+ *
+ * @author Steven Zgaljic
+ */
+public class Member {
+
+    @AclSid
+    private String username;
+
+    public Member(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
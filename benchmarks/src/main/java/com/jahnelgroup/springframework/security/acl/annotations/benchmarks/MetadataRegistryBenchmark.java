@@ -0,0 +1,79 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredClassMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the metadata lookup of the {@link AclSecuredMetadataRegistry}, which is backed by a {@link ClassValue},
+ * against the map based caches it replaced. Run with several threads to compare them under contention.
+ *
+ * @author Steven Zgaljic
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataRegistryBenchmark {
+
+    private static final Class<?>[] TYPES = { Document.class, Document4.class, Document16.class, Folder.class };
+
+    @State(Scope.Benchmark)
+    public static class Caches {
+        AclSecuredMetadataRegistry registry;
+        Map<Class<?>, AclSecuredClassMetadata> concurrentHashMap;
+        Map<Class<?>, AclSecuredClassMetadata> concurrentReferenceHashMap;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            registry = new AclSecuredMetadataRegistry();
+            concurrentHashMap = new ConcurrentHashMap<>();
+            concurrentReferenceHashMap = new ConcurrentReferenceHashMap<>(16,
+                    ConcurrentReferenceHashMap.ReferenceType.WEAK);
+            for(Class<?> type : TYPES){
+                concurrentHashMap.put(type, registry.getMetadata(type));
+                concurrentReferenceHashMap.put(type, registry.getMetadata(type));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Types {
+        int next;
+
+        Class<?> next() {
+            return TYPES[next++ & (TYPES.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public AclSecuredClassMetadata classValue(Caches caches, Types types) {
+        return caches.registry.getMetadata(types.next());
+    }
+
+    @Benchmark
+    public AclSecuredClassMetadata concurrentHashMap(Caches caches, Types types) {
+        return caches.concurrentHashMap.get(types.next());
+    }
+
+    @Benchmark
+    public AclSecuredClassMetadata concurrentReferenceHashMap(Caches caches, Types types) {
+        return caches.concurrentReferenceHashMap.get(types.next());
+    }
+}
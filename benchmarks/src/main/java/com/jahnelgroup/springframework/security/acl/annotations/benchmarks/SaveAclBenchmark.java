@@ -0,0 +1,79 @@
+package com.jahnelgroup.springframework.security.acl.annotations.benchmarks;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultAclSecuredHandler#saveAcl(Object)} for an entity whose ACL is unchanged and for one whose
+ * first {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce} collection gains or loses a member
+ * on every invocation.
+ *
+ * @author Steven Zgaljic
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveAclBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Handler {
+        DefaultAclSecuredHandler handler;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            handler = BenchmarkFixtures.handler(BenchmarkFixtures.aclService());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Entities {
+        @Param({"1", "4", "16"})
+        int aceCount;
+
+        @Param({"1", "10", "100"})
+        int collectionSize;
+
+        @Param({"0", "1", "4"})
+        int depth;
+
+        Document document;
+        Member member = new Member("toggled");
+
+        @Setup(Level.Trial)
+        public void setup(Handler handler) {
+            Folder parent = null;
+            for(Folder folder : BenchmarkFixtures.folders(depth, collectionSize)){
+                handler.handler.createAcl(folder);
+                parent = folder;
+            }
+            document = BenchmarkFixtures.document(aceCount, parent, collectionSize);
+            handler.handler.createAcl(document);
+        }
+    }
+
+    @Benchmark
+    public void saveAclUnchanged(Handler handler, Entities entities) {
+        handler.handler.saveAcl(entities.document);
+    }
+
+    @Benchmark
+    public void saveAclChanged(Handler handler, Entities entities) {
+        entities.document.toggle(entities.member);
+        handler.handler.saveAcl(entities.document);
+    }
+}
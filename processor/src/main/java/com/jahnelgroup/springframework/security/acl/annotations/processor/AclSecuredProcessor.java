@@ -0,0 +1,373 @@
+package com.jahnelgroup.springframework.security.acl.annotations.processor;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessor;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredAccessors;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor which, at build time, generates an {@link AclSecuredAccessors} implementation for every
+ * class declaring {@link AclObjectId}, {@link AclParent}, {@link AclAce} or {@link AclSid} fields and writes the
+ * {@link AclSecured} classes to {@link AclSecuredIndex#INDEX_LOCATION}.
+ *
+ * The checks the metadata registry applies when a class is first saved are applied here as well, so that misuse of
+ * the annotations fails the compilation.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredProcessor extends AbstractProcessor {
+
+    private static final List<String> FIELD_ANNOTATIONS = Arrays.asList(AclObjectId.class.getName(),
+            AclParent.class.getName(), AclAce.class.getName(), AclSid.class.getName());
+
+    private final Set<String> indexed = new TreeSet<>();
+    private final Set<String> generated = new HashSet<>();
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotationTypes = new LinkedHashSet<>(FIELD_ANNOTATIONS);
+        annotationTypes.add(AclSecured.class.getName());
+        return annotationTypes;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if( roundEnv.processingOver() ){
+            writeIndex();
+            return false;
+        }
+
+        for(Element element : roundEnv.getElementsAnnotatedWith(AclSecured.class)){
+            if( element.getKind() == ElementKind.CLASS ){
+                TypeElement type = (TypeElement) element;
+                checkSecured(type);
+                indexed.add(elements.getBinaryName(type).toString());
+            }
+        }
+
+        Map<TypeElement, Set<VariableElement>> declaring = new LinkedHashMap<>();
+        for(TypeElement annotation : annotations){
+            if( !FIELD_ANNOTATIONS.contains(annotation.getQualifiedName().toString()) )
+                continue;
+
+            for(VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))){
+                declaring.computeIfAbsent((TypeElement) field.getEnclosingElement(), t -> new LinkedHashSet<>())
+                        .add(field);
+            }
+        }
+
+        for(Map.Entry<TypeElement, Set<VariableElement>> entry : declaring.entrySet()){
+            for(VariableElement field : entry.getValue())
+                checkField(entry.getKey(), field);
+            generateAccessors(entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+
+    private void checkSecured(TypeElement type) {
+        VariableElement objectId = findAnnotatedField(type, AclObjectId.class.getName());
+        if( objectId == null )
+            error(type, "Unable to find @AclObjectId for class %s", type.getQualifiedName());
+    }
+
+    private void checkField(TypeElement type, VariableElement field) {
+        if( hasAnnotation(field, AclObjectId.class.getName()) || hasAnnotation(field, AclSid.class.getName()) )
+            checkSerializable(type, field);
+
+        if( hasAnnotation(field, AclParent.class.getName()) )
+            checkParent(type, field);
+
+        if( hasAnnotation(field, AclAce.class.getName()) )
+            checkAce(type, field);
+    }
+
+    private void checkParent(TypeElement type, VariableElement field) {
+        TypeElement parentType = asTypeElement(field.asType());
+        if( parentType == null || !hasAnnotation(parentType, AclSecured.class.getName()) ){
+            error(field, "Field %s for class %s is annotated as @AclParent but the class %s is not annotated " +
+                    "with @AclSecured.", field.getSimpleName(), type.getQualifiedName(), field.asType());
+        }else if( findAnnotatedField(parentType, AclObjectId.class.getName()) == null ){
+            error(field, "Field %s for class %s is annotated as @AclParent but the class %s does not define " +
+                    "@AclObjectId.", field.getSimpleName(), type.getQualifiedName(), parentType.getQualifiedName());
+        }
+    }
+
+    private void checkAce(TypeElement type, VariableElement field) {
+        TypeMirror fieldType = field.asType();
+        if( isScalar(fieldType) )
+            return;
+
+        TypeMirror elementType;
+        if( fieldType.getKind() == TypeKind.ARRAY )
+            elementType = ((ArrayType) fieldType).getComponentType();
+        else if( isAssignable(fieldType, Collection.class) )
+            elementType = findCollectionElement(fieldType);
+        else
+            elementType = fieldType;
+
+        // resolved from the actual elements
+        if( elementType == null || elementType.getKind() != TypeKind.DECLARED
+                && !elementType.getKind().isPrimitive() || isType(elementType, Object.class) )
+            return;
+
+        if( isScalar(elementType) ){
+            error(field, "Field %s for class %s is annotated as @AclAce but holds %s values, only a single " +
+                    "String, Character or Number can be used as sid value.", field.getSimpleName(),
+                    type.getQualifiedName(), elementType);
+            return;
+        }
+
+        TypeElement element = asTypeElement(elementType);
+        if( element == null || findAnnotatedField(element, AclSid.class.getName()) == null ){
+            error(field, "Unable to find @AclSid on class %s for field %s on class %s", elementType,
+                    field.getSimpleName(), type.getQualifiedName());
+        }
+    }
+
+    private void checkSerializable(TypeElement type, VariableElement field) {
+        TypeMirror fieldType = field.asType();
+        if( fieldType.getKind().isPrimitive() || fieldType.getKind() == TypeKind.TYPEVAR
+                || isType(fieldType, Object.class) )
+            return;
+
+        TypeElement element = asTypeElement(fieldType);
+        if( element != null && element.getKind() == ElementKind.INTERFACE )
+            return;
+
+        if( !isAssignable(fieldType, Serializable.class) ){
+            error(field, "Field %s for class %s must be Serializable", field.getSimpleName(),
+                    type.getQualifiedName());
+        }
+    }
+
+    private void generateAccessors(TypeElement type, Set<VariableElement> fields) {
+        if( !isAccessible(type) )
+            return;
+
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + AclSecuredAccessors.SUFFIX;
+        String generatedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        if( !generated.add(generatedName) )
+            return;
+
+        String typeName = types.erasure(type.asType()).toString();
+        StringBuilder source = new StringBuilder();
+        if( !packageName.isEmpty() )
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n")
+                .append(" * Generated by ").append(AclSecuredProcessor.class.getName()).append(" for {@link ")
+                .append(typeName).append("}, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" implements ")
+                .append(AclSecuredAccessors.class.getName()).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(AclPropertyAccessor.class.getName())
+                .append(" getAccessor(String fieldName) {\n")
+                .append("        switch (fieldName) {\n");
+
+        for(VariableElement field : fields){
+            String expression = accessExpression(type, field);
+            if( expression != null ){
+                source.append("            case \"").append(field.getSimpleName()).append("\": return o -> ((")
+                        .append(typeName).append(") o).").append(expression).append(";\n");
+            }
+        }
+
+        source.append("            default: return null;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try{
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(generatedName, type);
+            try(Writer writer = file.openWriter()){
+                writer.write(source.toString());
+            }
+        }catch(IOException e){
+            error(type, "Unable to generate %s: %s", generatedName, e.getMessage());
+        }
+    }
+
+    /**
+     * Mirrors the accessor lookup at runtime, preferring a getter or record style accessor over the field.
+     */
+    private String accessExpression(TypeElement type, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        List<String> candidates = Arrays.asList("get" + property, "is" + property, name);
+
+        for(ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))){
+            if( candidates.contains(method.getSimpleName().toString()) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && isAccessibleFrom(method, type)
+                    && types.isSameType(types.erasure(method.getReturnType()), types.erasure(field.asType())) )
+                return method.getSimpleName() + "()";
+        }
+
+        if( !field.getModifiers().contains(Modifier.PRIVATE) && !field.getModifiers().contains(Modifier.STATIC) )
+            return name;
+        return null;
+    }
+
+    private boolean isAccessibleFrom(ExecutableElement method, TypeElement type) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if( modifiers.contains(Modifier.PUBLIC) )
+            return true;
+        return !modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(method).equals(elements.getPackageOf(type));
+    }
+
+    private void writeIndex() {
+        if( indexed.isEmpty() )
+            return;
+
+        try{
+            try(Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    AclSecuredIndex.INDEX_LOCATION).openWriter()){
+                for(String type : indexed)
+                    writer.write(type + "\n");
+            }
+        }catch(IOException e){
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Unable to write %s: %s", AclSecuredIndex.INDEX_LOCATION, e.getMessage()));
+        }
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while( element instanceof TypeElement ){
+            TypeElement current = (TypeElement) element;
+            if( current.getModifiers().contains(Modifier.PRIVATE)
+                    || current.getNestingKind() == NestingKind.LOCAL
+                    || current.getNestingKind() == NestingKind.ANONYMOUS )
+                return false;
+            element = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private VariableElement findAnnotatedField(TypeElement type, String annotation) {
+        TypeElement current = type;
+        while( current != null ){
+            for(VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())){
+                if( hasAnnotation(field, annotation) )
+                    return field;
+            }
+            current = asTypeElement(current.getSuperclass());
+        }
+        return null;
+    }
+
+    private TypeMirror findCollectionElement(TypeMirror type) {
+        if( isType(types.erasure(type), Collection.class) ){
+            List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+            if( arguments.isEmpty() )
+                return null;
+
+            TypeMirror argument = arguments.get(0);
+            if( argument.getKind() == TypeKind.WILDCARD )
+                return ((WildcardType) argument).getExtendsBound();
+            return argument;
+        }
+
+        for(TypeMirror supertype : types.directSupertypes(type)){
+            if( isAssignable(supertype, Collection.class) )
+                return findCollectionElement(supertype);
+        }
+        return null;
+    }
+
+    private boolean isScalar(TypeMirror type) {
+        if( type.getKind().isPrimitive() )
+            return type.getKind() != TypeKind.BOOLEAN;
+        return type.getKind() == TypeKind.DECLARED && (isType(type, String.class)
+                || isType(type, Character.class) || isAssignable(type, Number.class));
+    }
+
+    private boolean isType(TypeMirror type, Class<?> expected) {
+        TypeElement element = asTypeElement(type);
+        return element != null && element.getQualifiedName().contentEquals(expected.getCanonicalName());
+    }
+
+    private boolean isAssignable(TypeMirror type, Class<?> expected) {
+        TypeElement element = elements.getTypeElement(expected.getCanonicalName());
+        return element != null && types.isAssignable(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    private TypeElement asTypeElement(TypeMirror type) {
+        if( type.getKind() != TypeKind.DECLARED )
+            return null;
+        return (TypeElement) ((DeclaredType) type).asElement();
+    }
+
+    private boolean hasAnnotation(Element element, String annotation) {
+        for(AnnotationMirror mirror : element.getAnnotationMirrors()){
+            if( ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation) )
+                return true;
+        }
+        return false;
+    }
+
+    private void error(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+}
@@ -15,4 +15,8 @@ public class AclRuntimeException extends RuntimeException {
     public AclRuntimeException(String message, Exception e) {
         super(message, e);
     }
+
+    public AclRuntimeException(String message, Throwable t) {
+        super(message, t);
+    }
 }
@@ -0,0 +1,287 @@
+package com.jahnelgroup.springframework.security.acl.annotations.actuate;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclFingerprintCache;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.mapper.AclSidPool;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclParentMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredClassMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Endpoint} exposing the state of the ACL maintenance at /actuator/aclsecured: the resolved metadata of the
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclSecured} classes, the caches of each
+ * {@link DefaultAclSecuredHandler}, the writes per entity class along with the most recent slow writes and the
+ * wired {@link AclSecuredHandler} and {@link MutableAclService} beans.
+ *
+ * The writes are only counted while the endpoint is enabled and exposed over HTTP or JMX. Once
+ * management.endpoint.aclsecured.slow-write-threshold is set, writes taking at least that many milliseconds are kept
+ * as slow writes with the time spent in each phase, phases aren't timed otherwise.
+ *
+ * @author Steven Zgaljic
+ */
+@Endpoint(id = "aclsecured")
+public class AclSecuredEndpoint implements SmartInitializingSingleton, BeanFactoryAware, EnvironmentAware {
+
+    public static final String SLOW_WRITE_THRESHOLD_PROPERTY = "management.endpoint.aclsecured.slow-write-threshold";
+
+    private static final String ID = "aclsecured";
+
+    private final AclSecuredWriteStatistics statistics = new AclSecuredWriteStatistics();
+    private ListableBeanFactory beanFactory;
+    private boolean exposed = true;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        Long threshold = environment.getProperty(SLOW_WRITE_THRESHOLD_PROPERTY, Long.class);
+        if( threshold != null )
+            statistics.setSlowWriteThresholdMillis(threshold);
+        this.exposed = isExposed(Binder.get(environment));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if( !exposed )
+            return;
+
+        for(DefaultAclSecuredHandler handler : beanFactory.getBeansOfType(DefaultAclSecuredHandler.class).values())
+            handler.addAclSecuredHandlerListener(statistics);
+    }
+
+    /**
+     * Returns true if the endpoint is enabled and exposed over HTTP or JMX, resolved from the management properties
+     * with the defaults of Spring Boot Actuator.
+     *
+     * @param binder
+     * @return
+     */
+    private static boolean isExposed(Binder binder) {
+        boolean enabledByDefault = binder.bind("management.endpoints.enabled-by-default", Boolean.class).orElse(true);
+        if( !binder.bind("management.endpoint." + ID + ".enabled", Boolean.class).orElse(enabledByDefault) )
+            return false;
+
+        boolean jmx = binder.bind("spring.jmx.enabled", Boolean.class).orElse(true);
+        return isExposed(binder, "web", "health,info") || (jmx && isExposed(binder, "jmx", "*"));
+    }
+
+    private static boolean isExposed(Binder binder, String technology, String defaultInclude) {
+        String prefix = "management.endpoints." + technology + ".exposure.";
+        Set<String> include = binder.bind(prefix + "include", Bindable.setOf(String.class))
+                .orElse(StringUtils.commaDelimitedListToSet(defaultInclude));
+        Set<String> exclude = binder.bind(prefix + "exclude", Bindable.setOf(String.class))
+                .orElse(Collections.emptySet());
+        return matches(include) && !matches(exclude);
+    }
+
+    private static boolean matches(Set<String> ids) {
+        for(String id : ids){
+            String trimmed = id.trim();
+            if( "*".equals(trimmed) || ID.equalsIgnoreCase(trimmed) )
+                return true;
+        }
+        return false;
+    }
+
+    @ReadOperation
+    public AclSecuredDescriptor aclSecured() {
+        Map<String, TypeDescriptor> types = new LinkedHashMap<>();
+        Map<String, HandlerDescriptor> handlers = new LinkedHashMap<>();
+        for(Map.Entry<String, AclSecuredHandler> handler :
+                beanFactory.getBeansOfType(AclSecuredHandler.class).entrySet()){
+            handlers.put(handler.getKey(), new HandlerDescriptor(handler.getValue()));
+            if( handler.getValue() instanceof DefaultAclSecuredHandler ){
+                AclSecuredMetadataRegistry registry =
+                        ((DefaultAclSecuredHandler) handler.getValue()).getAclSecuredMetadataRegistry();
+                for(Class<?> type : registry.getRegisteredTypes())
+                    types.putIfAbsent(type.getName(), new TypeDescriptor(registry.getMetadata(type)));
+            }
+        }
+
+        Map<String, String> aclServices = new LinkedHashMap<>();
+        for(Map.Entry<String, MutableAclService> aclService :
+                beanFactory.getBeansOfType(MutableAclService.class).entrySet())
+            aclServices.put(aclService.getKey(), ClassUtils.getUserClass(aclService.getValue()).getName());
+
+        return new AclSecuredDescriptor(types, handlers, aclServices, statistics.getWrites(),
+                statistics.getSlowWrites());
+    }
+
+    /**
+     * State of the ACL maintenance.
+     */
+    public static final class AclSecuredDescriptor {
+        private final Map<String, TypeDescriptor> types;
+        private final Map<String, HandlerDescriptor> handlers;
+        private final Map<String, String> aclServices;
+        private final Map<String, Map<AclSecuredOperation, AclSecuredWriteStatistics.Counts>> writes;
+        private final List<AclSecuredWriteStatistics.SlowWrite> slowWrites;
+
+        AclSecuredDescriptor(Map<String, TypeDescriptor> types, Map<String, HandlerDescriptor> handlers,
+                             Map<String, String> aclServices,
+                             Map<String, Map<AclSecuredOperation, AclSecuredWriteStatistics.Counts>> writes,
+                             List<AclSecuredWriteStatistics.SlowWrite> slowWrites) {
+            this.types = types;
+            this.handlers = handlers;
+            this.aclServices = aclServices;
+            this.writes = writes;
+            this.slowWrites = slowWrites;
+        }
+
+        public Map<String, TypeDescriptor> getTypes() {
+            return types;
+        }
+
+        public Map<String, HandlerDescriptor> getHandlers() {
+            return handlers;
+        }
+
+        public Map<String, String> getAclServices() {
+            return aclServices;
+        }
+
+        public Map<String, Map<AclSecuredOperation, AclSecuredWriteStatistics.Counts>> getWrites() {
+            return writes;
+        }
+
+        public List<AclSecuredWriteStatistics.SlowWrite> getSlowWrites() {
+            return slowWrites;
+        }
+    }
+
+    /**
+     * Resolved metadata of an {@link com.jahnelgroup.springframework.security.acl.annotations.AclSecured} class.
+     */
+    public static final class TypeDescriptor {
+        private final String objectId;
+        private final Map<String, Object> parent;
+        private final List<Map<String, Object>> aces = new ArrayList<>();
+
+        TypeDescriptor(AclSecuredClassMetadata metadata) {
+            this.objectId = metadata.getObjectIdField().getName();
+
+            AclParentMetadata parentMetadata = metadata.getParent();
+            if( parentMetadata != null ){
+                parent = new LinkedHashMap<>();
+                parent.put("field", parentMetadata.getField().getName());
+                parent.put("type", parentMetadata.getParentType().getName());
+                parent.put("inheriting", parentMetadata.getAclParent().inheriting());
+            }else{
+                parent = null;
+            }
+
+            for(AclAceMetadata ace : metadata.getAces()){
+                Map<String, Object> descriptor = new LinkedHashMap<>();
+                descriptor.put("field", ace.getField().getName());
+                descriptor.put("kind", ace.getKind());
+                if( ace.getElementType() != null )
+                    descriptor.put("elementType", ace.getElementType().getName());
+                List<Integer> masks = new ArrayList<>();
+                for(Permission permission : ace.getPermissions())
+                    masks.add(permission.getMask());
+                descriptor.put("permissions", masks);
+                descriptor.put("granting", ace.getAclAce().granting());
+                if( ace.getAclSid() != null )
+                    descriptor.put("principal", ace.getAclSid().principal());
+                aces.add(descriptor);
+            }
+        }
+
+        public String getObjectId() {
+            return objectId;
+        }
+
+        public Map<String, Object> getParent() {
+            return parent;
+        }
+
+        public List<Map<String, Object>> getAces() {
+            return aces;
+        }
+    }
+
+    /**
+     * Wiring and cache state of an {@link AclSecuredHandler}.
+     */
+    public static final class HandlerDescriptor {
+        private final String type;
+        private final Map<String, Object> wiring = new LinkedHashMap<>();
+        private final Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+
+        HandlerDescriptor(AclSecuredHandler handler) {
+            this.type = ClassUtils.getUserClass(handler).getName();
+            if( !(handler instanceof DefaultAclSecuredHandler) )
+                return;
+
+            DefaultAclSecuredHandler defaultHandler = (DefaultAclSecuredHandler) handler;
+            wiring.put("aclService", className(defaultHandler.getAclService()));
+            wiring.put("aclEntryWriter", className(defaultHandler.getAclEntryWriter()));
+            wiring.put("reconciliationMode", defaultHandler.getReconciliationMode());
+
+            caches.put("metadataTypes", cache(defaultHandler.getAclSecuredMetadataRegistry().getRegisteredTypes().size(),
+                    -1, -1));
+            AclSidPool pool = defaultHandler.getAclSidPool();
+            caches.put("sidPool", cache(pool.size(), pool.getHitCount(), pool.getMissCount()));
+            AclFingerprintCache fingerprints = defaultHandler.getAclFingerprintCache();
+            caches.put("fingerprints", cache(fingerprints.size(), fingerprints.getHitCount(),
+                    fingerprints.getMissCount()));
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Map<String, Object> getWiring() {
+            return wiring;
+        }
+
+        public Map<String, Map<String, Object>> getCaches() {
+            return caches;
+        }
+
+        private static String className(Object object) {
+            return object == null ? null : ClassUtils.getUserClass(object).getName();
+        }
+
+        private static Map<String, Object> cache(int size, long hits, long misses) {
+            Map<String, Object> cache = new LinkedHashMap<>();
+            cache.put("size", size);
+            if( hits >= 0 ){
+                cache.put("hits", hits);
+                cache.put("misses", misses);
+                cache.put("hitRatio", hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+            }
+            return cache;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.jahnelgroup.springframework.security.acl.annotations.actuate;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandlerListener;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredPhase;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AclSecuredHandlerListener} counting the ACL writes per entity class and operation. Once a slow write
+ * threshold is set it also keeps the most recent writes slower than the threshold along with the time spent in each
+ * {@link AclSecuredPhase}, phases aren't timed before. Phase timings are collected per thread and attributed to the
+ * write which ends next on that thread.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredWriteStatistics implements AclSecuredHandlerListener {
+
+    private static final String MIXED = "mixed";
+    private static final AclSecuredPhase[] PHASES = AclSecuredPhase.values();
+
+    private final Map<String, Map<AclSecuredOperation, Counts>> writes = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> phases = ThreadLocal.withInitial(() -> new long[PHASES.length]);
+    private final SlowWrite[] slowWrites;
+    private int next = 0;
+    private volatile long slowWriteThresholdNanos = -1;
+
+    public AclSecuredWriteStatistics() {
+        this(20);
+    }
+
+    public AclSecuredWriteStatistics(int slowWriteCapacity) {
+        Assert.isTrue(slowWriteCapacity > 0, "Slow write capacity must be positive!");
+        this.slowWrites = new SlowWrite[slowWriteCapacity];
+    }
+
+    /**
+     * Sets the duration from which a write is kept as slow write and enables the phase timing. No slow writes are
+     * kept by default.
+     *
+     * @param slowWriteThresholdMillis
+     */
+    public void setSlowWriteThresholdMillis(long slowWriteThresholdMillis) {
+        Assert.isTrue(slowWriteThresholdMillis >= 0, "Slow write threshold must not be negative!");
+        this.slowWriteThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowWriteThresholdMillis);
+    }
+
+    @Override
+    public boolean isPhaseTimingEnabled() {
+        return slowWriteThresholdNanos >= 0;
+    }
+
+    @Override
+    public void afterPhase(AclSecuredPhase phase, ObjectIdentity oi, int aclCount, int aceCount, long startNanos,
+                           long durationNanos) {
+        phases.get()[phase.ordinal()] += durationNanos;
+    }
+
+    @Override
+    public void afterWrite(AclSecuredOperation operation, String entityType, int count, long durationNanos,
+                           boolean success) {
+        String entity = entityType == null ? MIXED : entityType;
+        Counts counts = writes.computeIfAbsent(entity, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, o -> new Counts());
+        counts.writes.increment();
+        counts.acls.add(count);
+        if( !success )
+            counts.errors.increment();
+
+        long threshold = slowWriteThresholdNanos;
+        if( threshold < 0 )
+            return;
+
+        long[] timings = phases.get();
+        if( durationNanos >= threshold ){
+            Map<AclSecuredPhase, Long> breakdown = new EnumMap<>(AclSecuredPhase.class);
+            for(AclSecuredPhase phase : PHASES){
+                if( timings[phase.ordinal()] > 0 )
+                    breakdown.put(phase, timings[phase.ordinal()]);
+            }
+            addSlowWrite(new SlowWrite(System.currentTimeMillis(), operation, entity, count, success,
+                    durationNanos, breakdown));
+        }
+        Arrays.fill(timings, 0);
+    }
+
+    /**
+     * Returns the number of writes, ACLs written and failed writes per entity class and operation.
+     *
+     * @return
+     */
+    public Map<String, Map<AclSecuredOperation, Counts>> getWrites() {
+        return Collections.unmodifiableMap(writes);
+    }
+
+    /**
+     * Returns the most recent slow writes, the latest first.
+     *
+     * @return
+     */
+    public synchronized List<SlowWrite> getSlowWrites() {
+        List<SlowWrite> result = new ArrayList<>(slowWrites.length);
+        for(int i=1; i<=slowWrites.length; i++){
+            SlowWrite slowWrite = slowWrites[(next - i + slowWrites.length) % slowWrites.length];
+            if( slowWrite != null )
+                result.add(slowWrite);
+        }
+        return result;
+    }
+
+    private synchronized void addSlowWrite(SlowWrite slowWrite) {
+        slowWrites[next] = slowWrite;
+        next = (next + 1) % slowWrites.length;
+    }
+
+    /**
+     * Write counts of an entity class and operation.
+     */
+    public static class Counts {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder acls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        public long getWrites() {
+            return writes.sum();
+        }
+
+        public long getAcls() {
+            return acls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+
+    /**
+     * Write which took longer than the slow write threshold. Durations are reported in milliseconds.
+     */
+    public static class SlowWrite {
+        private final long timestamp;
+        private final AclSecuredOperation operation;
+        private final String entityClass;
+        private final int aclCount;
+        private final boolean success;
+        private final long durationNanos;
+        private final Map<AclSecuredPhase, Long> phaseNanos;
+
+        SlowWrite(long timestamp, AclSecuredOperation operation, String entityClass, int aclCount, boolean success,
+                  long durationNanos, Map<AclSecuredPhase, Long> phaseNanos) {
+            this.timestamp = timestamp;
+            this.operation = operation;
+            this.entityClass = entityClass;
+            this.aclCount = aclCount;
+            this.success = success;
+            this.durationNanos = durationNanos;
+            this.phaseNanos = phaseNanos;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public AclSecuredOperation getOperation() {
+            return operation;
+        }
+
+        public String getEntityClass() {
+            return entityClass;
+        }
+
+        public int getAclCount() {
+            return aclCount;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public double getDuration() {
+            return toMillis(durationNanos);
+        }
+
+        public Map<AclSecuredPhase, Double> getPhases() {
+            Map<AclSecuredPhase, Double> phases = new LinkedHashMap<>();
+            for(Map.Entry<AclSecuredPhase, Long> phase : phaseNanos.entrySet())
+                phases.put(phase.getKey(), toMillis(phase.getValue()));
+            return phases;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
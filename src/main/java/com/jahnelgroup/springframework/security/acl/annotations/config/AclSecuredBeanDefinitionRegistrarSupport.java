@@ -3,6 +3,7 @@ package com.jahnelgroup.springframework.security.acl.annotations.config;
 import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
 
 import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -10,6 +11,9 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
 import java.lang.annotation.Annotation;
 
 /**
@@ -24,14 +28,109 @@ import java.lang.annotation.Annotation;
 public abstract class AclSecuredBeanDefinitionRegistrarSupport implements ImportBeanDefinitionRegistrar {
 
     private static final String ACL_SERVICE = "aclService";
+    private static final String ACL_ENTRY_WRITER = "aclEntryWriter";
+    private static final String RECONCILIATION_MODE = "reconciliationMode";
+    private static final String SKIP_UNCHANGED_UPDATES = "skipUnchangedUpdates";
+    private static final String ACL_SECURED_METADATA_REGISTRY = "aclSecuredMetadataRegistry";
+
+    public static final String ACL_SECURED_METADATA_REGISTRY_BEAN_NAME = "aclSecuredMetadataRegistry";
+    public static final String ACL_SECURED_METRICS_INITIALIZER_BEAN_NAME = "aclSecuredMetricsInitializer";
+    public static final String ACL_SECURED_FLIGHT_RECORDER_INITIALIZER_BEAN_NAME =
+            "aclSecuredFlightRecorderInitializer";
+    public static final String ACL_SECURED_ENDPOINT_BEAN_NAME = "aclSecuredEndpoint";
+
+    private static final String METER_REGISTRY_CLASS_NAME = "io.micrometer.core.instrument.MeterRegistry";
+    private static final String ACL_SECURED_METRICS_INITIALIZER_CLASS_NAME =
+            "com.jahnelgroup.springframework.security.acl.annotations.metrics.AclSecuredMetricsInitializer";
+    private static final String FLIGHT_RECORDER_CLASS_NAME = "jdk.jfr.FlightRecorder";
+    private static final String ACL_SECURED_FLIGHT_RECORDER_INITIALIZER_CLASS_NAME =
+            "com.jahnelgroup.springframework.security.acl.annotations.jfr.AclSecuredFlightRecorderInitializer";
+    private static final String ENDPOINT_CLASS_NAME = "org.springframework.boot.actuate.endpoint.annotation.Endpoint";
+    private static final String ACL_SECURED_ENDPOINT_CLASS_NAME =
+            "com.jahnelgroup.springframework.security.acl.annotations.actuate.AclSecuredEndpoint";
 
     @Override
     public void registerBeanDefinitions(AnnotationMetadata annotationMetadata, BeanDefinitionRegistry registry) {
         Assert.notNull(annotationMetadata, "AnnotationMetadata must not be null!");
         Assert.notNull(annotationMetadata, "BeanDefinitionRegistry must not be null!");
 
-        AbstractBeanDefinition ahbd = registerAclSecuredHandlerBeanDefinition(registry, getConfiguration(annotationMetadata));
-        registerAclSecuredListenerBeanDefinition(ahbd, registry);
+        AclSecuredConfiguration configuration = getConfiguration(annotationMetadata);
+        registerAclSecuredMetadataRegistryIfNecessary(registry);
+        AbstractBeanDefinition ahbd = registerAclSecuredHandlerBeanDefinition(registry, configuration);
+        registerAclSecuredListenerBeanDefinition(ahbd, configuration, registry);
+        registerAclSecuredMetricsInitializerIfNecessary(registry);
+        registerAclSecuredFlightRecorderInitializerIfNecessary(registry);
+        registerAclSecuredEndpointIfNecessary(registry);
+    }
+
+    /**
+     * Registers the aclsecured actuator endpoint when Spring Boot Actuator is on the classpath. Whether it is
+     * exposed is up to the management.endpoints configuration.
+     *
+     * @param registry must not be {@literal null}.
+     */
+    private void registerAclSecuredEndpointIfNecessary(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(ACL_SECURED_ENDPOINT_BEAN_NAME)
+                || !ClassUtils.isPresent(ENDPOINT_CLASS_NAME, getClass().getClassLoader())) {
+            return;
+        }
+
+        registerInfrastructureBeanWithId(
+                BeanDefinitionBuilder.genericBeanDefinition(ACL_SECURED_ENDPOINT_CLASS_NAME).getRawBeanDefinition(),
+                ACL_SECURED_ENDPOINT_BEAN_NAME, registry);
+    }
+
+    /**
+     * Registers the initializer binding the ACL Flight Recorder events to the handlers when the jdk.jfr API is
+     * present, which it isn't on older Java 8 runtimes.
+     *
+     * @param registry must not be {@literal null}.
+     */
+    private void registerAclSecuredFlightRecorderInitializerIfNecessary(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(ACL_SECURED_FLIGHT_RECORDER_INITIALIZER_BEAN_NAME)
+                || !ClassUtils.isPresent(FLIGHT_RECORDER_CLASS_NAME, getClass().getClassLoader())) {
+            return;
+        }
+
+        registerInfrastructureBeanWithId(
+                BeanDefinitionBuilder.genericBeanDefinition(ACL_SECURED_FLIGHT_RECORDER_INITIALIZER_CLASS_NAME)
+                        .getRawBeanDefinition(),
+                ACL_SECURED_FLIGHT_RECORDER_INITIALIZER_BEAN_NAME, registry);
+    }
+
+    /**
+     * Registers the initializer binding the ACL metrics to the handlers when Micrometer is on the classpath. The
+     * initializer is registered by name so that no Micrometer class is loaded otherwise.
+     *
+     * @param registry must not be {@literal null}.
+     */
+    private void registerAclSecuredMetricsInitializerIfNecessary(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(ACL_SECURED_METRICS_INITIALIZER_BEAN_NAME)
+                || !ClassUtils.isPresent(METER_REGISTRY_CLASS_NAME, getClass().getClassLoader())) {
+            return;
+        }
+
+        registerInfrastructureBeanWithId(
+                BeanDefinitionBuilder.genericBeanDefinition(ACL_SECURED_METRICS_INITIALIZER_CLASS_NAME)
+                        .getRawBeanDefinition(),
+                ACL_SECURED_METRICS_INITIALIZER_BEAN_NAME, registry);
+    }
+
+    /**
+     * Registers the {@link AclSecuredMetadataRegistry} shared by the {@link AclSecuredHandler} and the store
+     * specific components resolving the {@link com.jahnelgroup.springframework.security.acl.annotations.AclSecured}
+     * types at startup.
+     *
+     * @param registry must not be {@literal null}.
+     */
+    private void registerAclSecuredMetadataRegistryIfNecessary(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(ACL_SECURED_METADATA_REGISTRY_BEAN_NAME)) {
+            return;
+        }
+
+        registerInfrastructureBeanWithId(
+                BeanDefinitionBuilder.rootBeanDefinition(AclSecuredMetadataRegistry.class).getRawBeanDefinition(),
+                ACL_SECURED_METADATA_REGISTRY_BEAN_NAME, registry);
     }
 
     /**
@@ -78,6 +177,13 @@ public abstract class AclSecuredBeanDefinitionRegistrarSupport implements Import
     protected BeanDefinitionBuilder configureDefaultAclSecuredHandlerAttributes(AclSecuredConfiguration configuration,
                                                                                 BeanDefinitionBuilder builder) {
         builder.addPropertyReference(ACL_SERVICE, configuration.getAclServiceRef());
+        builder.addPropertyValue(RECONCILIATION_MODE, configuration.getReconciliationMode());
+        builder.addPropertyValue(SKIP_UNCHANGED_UPDATES, configuration.isSkipUnchangedUpdates());
+        builder.addPropertyReference(ACL_SECURED_METADATA_REGISTRY, ACL_SECURED_METADATA_REGISTRY_BEAN_NAME);
+
+        if (StringUtils.hasText(configuration.getAclEntryWriterRef())) {
+            builder.addPropertyReference(ACL_ENTRY_WRITER, configuration.getAclEntryWriterRef());
+        }
 
         builder.setRole(AbstractBeanDefinition.ROLE_INFRASTRUCTURE);
 
@@ -105,10 +211,11 @@ public abstract class AclSecuredBeanDefinitionRegistrarSupport implements Import
      * Register the listener to eventually trigger the {@link AclSecuredHandler}.
      *
      * @param aclSecuredHandlerDefinition will never be {@literal null}.
+     * @param configuration will never be {@literal null}.
      * @param registry will never be {@literal null}.
      */
     protected abstract void registerAclSecuredListenerBeanDefinition(BeanDefinition aclSecuredHandlerDefinition,
-        BeanDefinitionRegistry registry);
+        AclSecuredConfiguration configuration, BeanDefinitionRegistry registry);
 
     /**
      * Return the name to be used to register the {@link AclSecuredHandler} under.
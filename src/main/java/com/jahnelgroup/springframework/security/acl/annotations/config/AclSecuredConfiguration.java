@@ -1,6 +1,8 @@
 package com.jahnelgroup.springframework.security.acl.annotations.config;
 
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclReconciliationMode;
 import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.writer.AclEntryWriter;
 
 /**
  * Configuration information for acl annotations.
@@ -23,4 +25,47 @@ public interface AclSecuredConfiguration {
      */
     String getAclServiceRef();
 
+    /**
+     * Returns the bean name of the {@link AclEntryWriter} instance to be used.
+     * @return
+     */
+    String getAclEntryWriterRef();
+
+    /**
+     * Returns the {@link AclReconciliationMode} to be used.
+     * @return
+     */
+    AclReconciliationMode getReconciliationMode();
+
+    /**
+     * Returns whether updates are skipped when the ACL relevant values are unchanged.
+     * @return
+     */
+    boolean isSkipUnchangedUpdates();
+
+    /**
+     * Returns whether ACL writes are deferred until the surrounding transaction commits.
+     * @return
+     */
+    boolean isDeferred();
+
+    /**
+     * Returns whether ACL writes are applied asynchronously through the outbox.
+     * @return
+     */
+    boolean isAsync();
+
+    /**
+     * Returns the bean name of the {@link org.springframework.security.core.Authentication} the asynchronous
+     * workers run as.
+     * @return
+     */
+    String getAsyncAuthenticationRef();
+
+    /**
+     * Returns whether ACLs are maintained through native Hibernate events.
+     * @return
+     */
+    boolean isHibernateEvents();
+
 }
@@ -1,5 +1,6 @@
 package com.jahnelgroup.springframework.security.acl.annotations.config;
 
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclReconciliationMode;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.util.Assert;
@@ -42,4 +43,39 @@ public class AnnotationAclSecuredConfiguration implements AclSecuredConfiguratio
     public String getAclServiceRef() {
         return attributes.getString("aclServiceRef");
     }
+
+    @Override
+    public String getAclEntryWriterRef() {
+        return attributes.getString("aclEntryWriterRef");
+    }
+
+    @Override
+    public AclReconciliationMode getReconciliationMode() {
+        return attributes.getEnum("reconciliationMode");
+    }
+
+    @Override
+    public boolean isSkipUnchangedUpdates() {
+        return attributes.getBoolean("skipUnchangedUpdates");
+    }
+
+    @Override
+    public boolean isDeferred() {
+        return attributes.getBoolean("deferred");
+    }
+
+    @Override
+    public boolean isAsync() {
+        return attributes.getBoolean("async");
+    }
+
+    @Override
+    public String getAsyncAuthenticationRef() {
+        return attributes.getString("asyncAuthenticationRef");
+    }
+
+    @Override
+    public boolean isHibernateEvents() {
+        return attributes.getBoolean("hibernateEvents");
+    }
 }
@@ -0,0 +1,43 @@
+package com.jahnelgroup.springframework.security.acl.annotations.config;
+
+import com.jahnelgroup.springframework.security.acl.annotations.data.jdbc.domain.support.JdbcAclSecuredEventListener;
+import com.jahnelgroup.springframework.security.acl.annotations.data.jdbc.repository.config.EnableJdbcAclSecured;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.data.config.ParsingUtils;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * {@link ImportBeanDefinitionRegistrar} to enable {@link EnableJdbcAclSecured} first.
+ *
+ * Derived and inspired by {@link org.springframework.data.jdbc.repository.config.JdbcAuditingRegistrar}
+ *
+ * @author Steven Zgaljic
+ */
+public class JdbcAclSecuredRegistrar extends AclSecuredBeanDefinitionRegistrarSupport {
+
+    @Override
+    protected Class<? extends Annotation> getAnnotation() {
+        return EnableJdbcAclSecured.class;
+    }
+
+    @Override
+    protected String getAclSecuredHandlerBeanName() {
+        return "jdbcAclSecuredHandler";
+    }
+
+    @Override
+    protected void registerAclSecuredListenerBeanDefinition(BeanDefinition aclSecuredHandlerDefinition,
+            AclSecuredConfiguration configuration, BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(JdbcAclSecuredEventListener.class);
+        builder.addPropertyValue("aclSecuredHandler",
+                ParsingUtils.getObjectFactoryBeanDefinition(getAclSecuredHandlerBeanName(), null));
+        builder.addPropertyValue("metadataRegistry",
+                ParsingUtils.getObjectFactoryBeanDefinition(ACL_SECURED_METADATA_REGISTRY_BEAN_NAME, null));
+        registerInfrastructureBeanWithId(builder.getRawBeanDefinition(), JdbcAclSecuredEventListener.class.getName(),
+                registry);
+    }
+}
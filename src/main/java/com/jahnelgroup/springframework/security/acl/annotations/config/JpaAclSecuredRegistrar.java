@@ -3,11 +3,18 @@ package com.jahnelgroup.springframework.security.acl.annotations.config;
 import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
 import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.AclSecuredBeanFactoryPostProcessor;
 import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.AclSecuredEntityListener;
+import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.HibernateAclSecuredEventListener;
+import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.JpaAclOutboxProcessor;
+import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.JpaAclSecuredMetadataInitializer;
+import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.JpaAclSidValueLoader;
 import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.repository.config.EnableAclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.data.jpa.repository.support.AclSecuredRepositoryPostProcessor;
+import com.jahnelgroup.springframework.security.acl.annotations.outbox.JdbcAclOutbox;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.aspectj.AnnotationBeanConfigurerAspect;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.parsing.BeanComponentDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -16,6 +23,7 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.config.ParsingUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 import java.lang.annotation.Annotation;
 
@@ -35,6 +43,10 @@ public class JpaAclSecuredRegistrar extends AclSecuredBeanDefinitionRegistrarSup
     // from org.springframework.data.jpa.repository.config.BeanDefinitionNames
     public static final String JPA_MAPPING_CONTEXT_BEAN_NAME = "jpaMappingContext";
 
+    public static final String ACL_OUTBOX_BEAN_NAME = "jpaAclOutbox";
+    public static final String ACL_OUTBOX_PROCESSOR_BEAN_NAME = "jpaAclOutboxProcessor";
+    public static final String ACL_SID_VALUE_LOADER_BEAN_NAME = "jpaAclSidValueLoader";
+
     @Override
     protected Class<? extends Annotation> getAnnotation() {
         return EnableAclSecured.class;
@@ -48,6 +60,7 @@ public class JpaAclSecuredRegistrar extends AclSecuredBeanDefinitionRegistrarSup
     @Override
     protected BeanDefinitionBuilder getAclSecuredHandlerBeanDefinitionBuilder(AclSecuredConfiguration configuration) {
         BeanDefinitionBuilder builder = super.getAclSecuredHandlerBeanDefinitionBuilder(configuration);
+        builder.addPropertyReference("aclSidValueLoader", ACL_SID_VALUE_LOADER_BEAN_NAME);
         return builder;
     }
 
@@ -58,6 +71,9 @@ public class JpaAclSecuredRegistrar extends AclSecuredBeanDefinitionRegistrarSup
         Assert.notNull(registry, "BeanDefinitionRegistry must not be null!");
 
         registerBeanConfigurerAspectIfNecessary(registry);
+        registerInfrastructureBeanWithId(
+                BeanDefinitionBuilder.rootBeanDefinition(JpaAclSidValueLoader.class).getRawBeanDefinition(),
+                ACL_SID_VALUE_LOADER_BEAN_NAME, registry);
         super.registerBeanDefinitions(annotationMetadata, registry);
         registerInfrastructureBeanWithId(
                 BeanDefinitionBuilder.rootBeanDefinition(AclSecuredBeanFactoryPostProcessor.class).getRawBeanDefinition(),
@@ -66,7 +82,8 @@ public class JpaAclSecuredRegistrar extends AclSecuredBeanDefinitionRegistrarSup
 
 
     @Override
-    protected void registerAclSecuredListenerBeanDefinition(BeanDefinition aclSecuredHandlerDefinition, BeanDefinitionRegistry registry) {
+    protected void registerAclSecuredListenerBeanDefinition(BeanDefinition aclSecuredHandlerDefinition,
+            AclSecuredConfiguration configuration, BeanDefinitionRegistry registry) {
         if (!registry.containsBeanDefinition(JPA_MAPPING_CONTEXT_BEAN_NAME)) {
             throw new AclRuntimeException("Bean " + JPA_MAPPING_CONTEXT_BEAN_NAME + " must exist in order for AclSecured to work.");
 
@@ -78,7 +95,66 @@ public class JpaAclSecuredRegistrar extends AclSecuredBeanDefinitionRegistrarSup
         BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(AclSecuredEntityListener.class);
         builder.addPropertyValue("aclSecuredHandler",
                 ParsingUtils.getObjectFactoryBeanDefinition(getAclSecuredHandlerBeanName(), null));
+        builder.addPropertyValue("deferred", configuration.isDeferred());
+        builder.addPropertyValue("enabled", !configuration.isHibernateEvents());
+        registerMetadataInitializer(registry);
+        if( configuration.isAsync() ){
+            registerAclOutboxBeanDefinitions(configuration, registry);
+            builder.addPropertyValue("aclOutboxProcessor",
+                    ParsingUtils.getObjectFactoryBeanDefinition(ACL_OUTBOX_PROCESSOR_BEAN_NAME, null));
+        }
         registerInfrastructureBeanWithId(builder.getRawBeanDefinition(), AclSecuredEntityListener.class.getName(), registry);
+        if( configuration.isHibernateEvents() )
+            registerHibernateEventListener(configuration, registry);
+        registerRepositoryPostProcessor(registry);
+    }
+
+    private void registerHibernateEventListener(AclSecuredConfiguration configuration, BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder listener = BeanDefinitionBuilder.rootBeanDefinition(HibernateAclSecuredEventListener.class);
+        listener.addPropertyValue("aclSecuredHandler",
+                ParsingUtils.getObjectFactoryBeanDefinition(getAclSecuredHandlerBeanName(), null));
+        listener.addPropertyValue("metadataRegistry",
+                ParsingUtils.getObjectFactoryBeanDefinition(ACL_SECURED_METADATA_REGISTRY_BEAN_NAME, null));
+        listener.addPropertyValue("deferred", configuration.isDeferred());
+        if( configuration.isAsync() )
+            listener.addPropertyValue("aclOutboxProcessor",
+                    ParsingUtils.getObjectFactoryBeanDefinition(ACL_OUTBOX_PROCESSOR_BEAN_NAME, null));
+        registerInfrastructureBeanWithId(listener.getRawBeanDefinition(),
+                HibernateAclSecuredEventListener.class.getName(), registry);
+    }
+
+    private void registerRepositoryPostProcessor(BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder postProcessor = BeanDefinitionBuilder.rootBeanDefinition(
+                AclSecuredRepositoryPostProcessor.class);
+        postProcessor.addPropertyValue("aclSecuredHandler",
+                ParsingUtils.getObjectFactoryBeanDefinition(getAclSecuredHandlerBeanName(), null));
+        postProcessor.addPropertyValue("metadataRegistry",
+                ParsingUtils.getObjectFactoryBeanDefinition(ACL_SECURED_METADATA_REGISTRY_BEAN_NAME, null));
+        registerInfrastructureBeanWithId(postProcessor.getRawBeanDefinition(),
+                AclSecuredRepositoryPostProcessor.class.getName(), registry);
+    }
+
+    private void registerMetadataInitializer(BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder initializer = BeanDefinitionBuilder.rootBeanDefinition(
+                JpaAclSecuredMetadataInitializer.class);
+        initializer.addConstructorArgReference(ACL_SECURED_METADATA_REGISTRY_BEAN_NAME);
+        registerInfrastructureBeanWithId(initializer.getRawBeanDefinition(),
+                JpaAclSecuredMetadataInitializer.class.getName(), registry);
+    }
+
+    private void registerAclOutboxBeanDefinitions(AclSecuredConfiguration configuration,
+            BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder outbox = BeanDefinitionBuilder.rootBeanDefinition(JdbcAclOutbox.class);
+        outbox.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+        registerInfrastructureBeanWithId(outbox.getRawBeanDefinition(), ACL_OUTBOX_BEAN_NAME, registry);
+
+        BeanDefinitionBuilder processor = BeanDefinitionBuilder.rootBeanDefinition(JpaAclOutboxProcessor.class);
+        processor.addPropertyReference("aclSecuredHandler", getAclSecuredHandlerBeanName());
+        processor.addPropertyReference("aclOutbox", ACL_OUTBOX_BEAN_NAME);
+        processor.addPropertyReference("metadataRegistry", ACL_SECURED_METADATA_REGISTRY_BEAN_NAME);
+        if( StringUtils.hasText(configuration.getAsyncAuthenticationRef()) )
+            processor.addPropertyReference("authentication", configuration.getAsyncAuthenticationRef());
+        registerInfrastructureBeanWithId(processor.getRawBeanDefinition(), ACL_OUTBOX_PROCESSOR_BEAN_NAME, registry);
     }
 
     /**
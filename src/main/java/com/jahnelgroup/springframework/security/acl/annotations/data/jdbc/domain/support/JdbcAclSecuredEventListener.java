@@ -0,0 +1,146 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jdbc.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.conversion.DbAction;
+import org.springframework.data.relational.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.relational.core.mapping.event.RelationalEventWithId;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.util.Collections;
+
+/**
+ * Spring Data JDBC event listener to capture ACL information on saving and deleting aggregate roots. Saves which
+ * insert the aggregate root create its ACL, all other saves update it.
+ *
+ * Aggregates deleted by id are only known by their id, so their ACL is deleted when the
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} is the {@link Id} of the aggregate.
+ * deleteAll doesn't publish any event per aggregate, so the ACLs of the deleted aggregates are left in place. There
+ * is no way to catch it here: delete the aggregates one by one, or delete their ACLs through the
+ * {@link AclSecuredHandler} within the same transaction, instead.
+ *
+ * Spring Data JDBC repositories don't start transactions themselves and each statement outside of a transaction is
+ * committed on its own, so by the time an event arrives without a transaction the aggregate is committed already.
+ * The ACL could no longer be written atomically with it, such events fail instead. Call the repositories from within
+ * a transaction, for example a {@link org.springframework.transaction.annotation.Transactional} service.
+ *
+ * Derived and inspired by {@link org.springframework.data.relational.domain.support.RelationalAuditingEventListener}
+ *
+ * @author Steven Zgaljic
+ */
+public class JdbcAclSecuredEventListener implements ApplicationListener<RelationalEventWithId> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcAclSecuredEventListener.class);
+
+    private ObjectFactory<AclSecuredHandler> handler;
+    private ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry;
+
+    /**
+     * Configures the {@link AclSecuredHandler} to be used to set the current ACL on the domain types touched.
+     *
+     * @param aclSecuredHandler must not be {@literal null}.
+     */
+    public void setAclSecuredHandler(ObjectFactory<AclSecuredHandler> aclSecuredHandler){
+        Assert.notNull(aclSecuredHandler, "AclSecuredHandler must not be null!");
+        this.handler = aclSecuredHandler;
+    }
+
+    /**
+     * Configures the {@link AclSecuredMetadataRegistry} the {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId}
+     * of aggregates deleted by id is resolved from.
+     *
+     * @param metadataRegistry must not be {@literal null}.
+     */
+    public void setMetadataRegistry(ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry) {
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(RelationalEventWithId event) {
+        if( !(event instanceof AfterSaveEvent) && !(event instanceof AfterDeleteEvent) )
+            return;
+
+        Class<?> type = getEntityType(event);
+        if( type == null || !isAclSecured(type) )
+            return;
+
+        if( !TransactionSynchronizationManager.isActualTransactionActive() ){
+            throw new AclRuntimeException(String.format("Unable to maintain the ACL of %s with id %s, it was " +
+                    "committed without a transaction. Call the repository from within a transaction.",
+                    type.getName(), event.getId().getValue()));
+        }
+
+        try {
+            if( event instanceof AfterSaveEvent )
+                onAfterSave((AfterSaveEvent) event);
+            else
+                onAfterDelete((AfterDeleteEvent) event, type);
+        } catch (AclRuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new AclRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the type of the saved or deleted aggregate root, from the entity itself if the event carries it.
+     *
+     * @param event
+     * @return {@literal null} if unknown
+     */
+    private static Class<?> getEntityType(RelationalEventWithId event) {
+        Object entity = event.getOptionalEntity().orElse(null);
+        return entity != null ? entity.getClass() : event.getChange().getEntityType();
+    }
+
+    private void onAfterSave(AfterSaveEvent event) {
+        Object entity = event.getEntity();
+        if( isInsert(event) )
+            handler.getObject().createAcl(entity);
+        else
+            handler.getObject().updateAcl(entity);
+    }
+
+    private void onAfterDelete(AfterDeleteEvent event, Class<?> type) {
+        Object entity = event.getOptionalEntity().orElse(null);
+        if( entity != null ){
+            handler.getObject().deleteAcl(entity);
+            return;
+        }
+
+        if( !metadataRegistry.getObject().getMetadata(type).getObjectIdField().isAnnotationPresent(Id.class) ){
+            logger.warn("Unable to delete the ACL of {} deleted by id {}, its @AclObjectId isn't its @Id",
+                    type.getName(), event.getId().getValue());
+            return;
+        }
+
+        handler.getObject().deleteAclsById(Collections.singletonList(
+                new ObjectIdentityImpl(type, (Serializable) event.getId().getValue())));
+    }
+
+    private static boolean isInsert(AfterSaveEvent event) {
+        for(Object action : event.getChange().getActions()){
+            if( action instanceof DbAction.InsertRoot )
+                return true;
+            if( action instanceof DbAction.UpdateRoot )
+                return false;
+        }
+        return false;
+    }
+
+    private static boolean isAclSecured(Class<?> type) {
+        return type.getAnnotation(AclSecured.class) != null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jdbc.repository.config;
+
+import com.jahnelgroup.springframework.security.acl.annotations.config.JdbcAclSecuredRegistrar;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclReconciliationMode;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.writer.AclEntryWriter;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.acls.model.AclService;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable Spring ACL first process with Spring Data JDBC aggregates. Unlike {@link
+ * com.jahnelgroup.springframework.security.acl.annotations.data.jpa.repository.config.EnableAclSecured} it doesn't
+ * require AspectJ.
+ *
+ * The repositories have to be called within a transaction, otherwise the aggregate is committed before its ACL is
+ * written and saving or deleting it fails. deleteAll leaves the ACLs of the deleted aggregates in place.
+ *
+ * Derived and inspired by {@link org.springframework.data.jdbc.repository.config.EnableJdbcAuditing}
+ */
+@Inherited
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Import(JdbcAclSecuredRegistrar.class)
+public @interface EnableJdbcAclSecured {
+
+    /**
+     * Configures the {@link AclSecuredHandler} bean to be used, otherwise defaults to a singleton instance of
+     * {@link DefaultAclSecuredHandler}.
+     *
+     * @return
+     */
+    String aclSecuredHandlerRef() default "";
+
+    /**
+     * Configures the {@link AclService} bean to be used, otherwise defaults to lookup a bean named aclService.
+     *
+     * @return
+     */
+    String aclServiceRef() default "aclService";
+
+    /**
+     * Configures the {@link AclEntryWriter} bean to be used, otherwise defaults to writing through the configured
+     * {@link AclService}.
+     *
+     * @return
+     */
+    String aclEntryWriterRef() default "";
+
+    /**
+     * Configures how the entries of an existing ACL are reconciled, defaults to {@link AclReconciliationMode#DELTA}.
+     *
+     * @return
+     */
+    AclReconciliationMode reconciliationMode() default AclReconciliationMode.DELTA;
+
+    /**
+     * Configures whether updates are skipped when the {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce},
+     * {@link com.jahnelgroup.springframework.security.acl.annotations.AclParent} and
+     * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} values are unchanged since the
+     * last write by this application, defaults to {@literal false}. Only enable it when this application is the
+     * single writer of the ACLs, changes by other nodes or direct AclService calls aren't noticed.
+     *
+     * @return
+     */
+    boolean skipUnchangedUpdates() default false;
+}
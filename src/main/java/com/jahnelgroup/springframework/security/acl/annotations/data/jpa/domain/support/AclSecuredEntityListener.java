@@ -4,6 +4,7 @@ import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeExcept
 import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
 import com.jahnelgroup.springframework.security.acl.annotations.config.AclSecuredConfiguration;
 import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.security.acls.model.MutableAclService;
@@ -27,6 +28,9 @@ public class AclSecuredEntityListener {
     // TODO: For some reason these listeners are instantiated multiple times and the one that JPA uses doesn't
     // follow through with the dependency injections. Making this static gets around the problem for now.
     private static ObjectFactory<AclSecuredHandler> handler;
+    private static boolean deferred = false;
+    private static boolean enabled = true;
+    private static ObjectFactory<JpaAclOutboxProcessor> outbox;
 
     private AclSecuredConfiguration config;
     private MutableAclService aclService;
@@ -61,42 +65,73 @@ public class AclSecuredEntityListener {
         this.aclService = mutableAclService;
     }
 
+    /**
+     * Configures whether ACL writes are deferred until the surrounding transaction commits and coalesced per
+     * entity. Without an active transaction writes are always issued immediately.
+     *
+     * @param deferred
+     */
+    public void setDeferred(boolean deferred) {
+        AclSecuredEntityListener.deferred = deferred;
+    }
+
+    /**
+     * Configures whether the listener maintains ACLs at all, it's disabled when the
+     * {@link HibernateAclSecuredEventListener} does instead.
+     *
+     * @param enabled
+     */
+    public void setEnabled(boolean enabled) {
+        AclSecuredEntityListener.enabled = enabled;
+    }
+
+    /**
+     * Configures the {@link JpaAclOutboxProcessor} to record ACL writes with instead of writing them, making ACL
+     * maintenance asynchronous.
+     *
+     * @param aclOutboxProcessor must not be {@literal null}.
+     */
+    public void setAclOutboxProcessor(ObjectFactory<JpaAclOutboxProcessor> aclOutboxProcessor) {
+        Assert.notNull(aclOutboxProcessor, "JpaAclOutboxProcessor must not be null!");
+        AclSecuredEntityListener.outbox = aclOutboxProcessor;
+    }
+
     @PostPersist
     public void touchForCreate(Object target) {
-        Assert.notNull(target, "Entity must not be null!");
-        if ( target == null || target.getClass().getAnnotation(AclSecured.class) == null ) return;
-        AclSecuredHandler object = handler.getObject();
-        if(object != null){
-            try {
-                object.createAcl(target);
-            } catch (Exception e) {
-                throw new AclRuntimeException(e.getMessage(), e);
-            }
-        }
+        touch(target, AclSecuredOperation.CREATE);
     }
 
     @PostUpdate
     public void touchForUpdate(Object target) {
-        Assert.notNull(target, "Entity must not be null!");
-        if ( target == null || target.getClass().getAnnotation(AclSecured.class) == null ) return;
-        AclSecuredHandler object = handler.getObject();
-        if(object != null){
-            try {
-                object.updateAcl(target);
-            } catch (Exception e) {
-                throw new AclRuntimeException(e.getMessage(), e);
-            }
-        }
+        touch(target, AclSecuredOperation.UPDATE);
     }
 
     @PostRemove
     public void touchForRemove(Object target) {
+        touch(target, AclSecuredOperation.DELETE);
+    }
+
+    private void touch(Object target, AclSecuredOperation operation) {
         Assert.notNull(target, "Entity must not be null!");
-        if ( target == null || target.getClass().getAnnotation(AclSecured.class) == null ) return;
+        if ( !enabled || target == null || target.getClass().getAnnotation(AclSecured.class) == null ) return;
         AclSecuredHandler object = handler.getObject();
         if(object != null){
             try {
-                object.deleteAcl(target);
+                if( outbox != null ){
+                    outbox.getObject().record(target, operation);
+                    return;
+                }
+
+                if( deferred && DeferredAclSecuredSynchronization.isAvailable() ){
+                    DeferredAclSecuredSynchronization.touch(object, target, operation);
+                    return;
+                }
+
+                switch (operation){
+                    case CREATE: object.createAcl(target); break;
+                    case UPDATE: object.updateAcl(target); break;
+                    case DELETE: object.deleteAcl(target); break;
+                }
             } catch (Exception e) {
                 throw new AclRuntimeException(e.getMessage(), e);
             }
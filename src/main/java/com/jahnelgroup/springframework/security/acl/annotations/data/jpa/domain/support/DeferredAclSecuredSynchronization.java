@@ -0,0 +1,150 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transaction scoped synchronization which collects the entities touched by the {@link AclSecuredEntityListener}
+ * and coalesces them per {@link ObjectIdentity}, so that the final state of each entity is written exactly once
+ * in {@link #beforeCommit(boolean)}. An entity created and deleted within the same transaction is never written.
+ * The coalesced entities are handed to the {@link AclSecuredHandler} in one batch per operation.
+ *
+ * Before writing, every {@link javax.persistence.EntityManager} bound to the transaction is flushed so that
+ * changes which would otherwise only be flushed during the commit are collected as well. Entities touched after
+ * the writes have been issued are written immediately.
+ *
+ * @author Steven Zgaljic
+ */
+class DeferredAclSecuredSynchronization extends TransactionSynchronizationAdapter {
+
+    private final AclSecuredHandler handler;
+    private final Map<ObjectIdentity, Pending> pending = new LinkedHashMap<>();
+    private boolean written = false;
+
+    private DeferredAclSecuredSynchronization(AclSecuredHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Returns true if there is an active transaction to defer writes to.
+     *
+     * @return
+     */
+    static boolean isAvailable() {
+        return TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /**
+     * Registers the touched entity with the synchronization bound to the current transaction.
+     *
+     * @param handler
+     * @param target
+     * @param operation
+     */
+    static void touch(AclSecuredHandler handler, Object target, AclSecuredOperation operation) {
+        DeferredAclSecuredSynchronization synchronization = (DeferredAclSecuredSynchronization)
+                TransactionSynchronizationManager.getResource(DeferredAclSecuredSynchronization.class);
+
+        if( synchronization == null ){
+            synchronization = new DeferredAclSecuredSynchronization(handler);
+            TransactionSynchronizationManager.bindResource(DeferredAclSecuredSynchronization.class, synchronization);
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        }
+
+        synchronization.touch(target, operation);
+    }
+
+    private void touch(Object target, AclSecuredOperation operation) {
+        if( written ){
+            write(target, operation);
+            return;
+        }
+
+        ObjectIdentity oi = handler.getObjectIdentity(target);
+        Pending previous = pending.get(oi);
+
+        if( previous == null ){
+            pending.put(oi, new Pending(target, operation));
+        }else if( previous.operation == AclSecuredOperation.CREATE && operation == AclSecuredOperation.DELETE ){
+            pending.remove(oi);
+        }else{
+            pending.put(oi, new Pending(target, coalesce(previous.operation, operation)));
+        }
+    }
+
+    private AclSecuredOperation coalesce(AclSecuredOperation previous, AclSecuredOperation operation) {
+        if( previous == AclSecuredOperation.CREATE && operation == AclSecuredOperation.UPDATE )
+            return AclSecuredOperation.CREATE;
+        if( previous == AclSecuredOperation.DELETE && operation == AclSecuredOperation.CREATE )
+            return AclSecuredOperation.UPDATE;
+        return operation;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        if( !readOnly ){
+            for(Object resource : TransactionSynchronizationManager.getResourceMap().values()){
+                if( resource instanceof EntityManagerHolder )
+                    ((EntityManagerHolder) resource).getEntityManager().flush();
+            }
+        }
+
+        written = true;
+
+        Map<AclSecuredOperation, List<Object>> batches = new EnumMap<>(AclSecuredOperation.class);
+        for(Pending p : pending.values())
+            batches.computeIfAbsent(p.operation, o -> new ArrayList<>()).add(p.target);
+        pending.clear();
+
+        if( batches.containsKey(AclSecuredOperation.CREATE) )
+            handler.createAcls(batches.get(AclSecuredOperation.CREATE));
+        if( batches.containsKey(AclSecuredOperation.UPDATE) )
+            handler.updateAcls(batches.get(AclSecuredOperation.UPDATE));
+        if( batches.containsKey(AclSecuredOperation.DELETE) )
+            handler.deleteAcls(batches.get(AclSecuredOperation.DELETE));
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(DeferredAclSecuredSynchronization.class);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(DeferredAclSecuredSynchronization.class, this);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        pending.clear();
+        TransactionSynchronizationManager.unbindResourceIfPossible(DeferredAclSecuredSynchronization.class);
+    }
+
+    private void write(Object target, AclSecuredOperation operation) {
+        switch (operation){
+            case CREATE: handler.createAcl(target); break;
+            case UPDATE: handler.updateAcl(target); break;
+            case DELETE: handler.deleteAcl(target); break;
+        }
+    }
+
+    private static class Pending {
+        private final Object target;
+        private final AclSecuredOperation operation;
+
+        Pending(Object target, AclSecuredOperation operation) {
+            this.target = target;
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredClassMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hibernate event listener to capture ACL information on inserting, updating and deleting entities, as an
+ * alternative to the {@link AclSecuredEntityListener}. It's appended to the {@link EventListenerRegistry} of every
+ * Hibernate {@link EntityManagerFactory} as it's created.
+ *
+ * Unlike the JPA callbacks the Hibernate events tell which properties are dirty, so updates which don't touch an
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId},
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclParent} or
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce} property are skipped before the ACL is
+ * evaluated at all. Collection valued properties never show up as dirty properties, changes to them are picked up
+ * by the collection events instead. A collection replaced within a flush is reported as removed and recreated, so
+ * its owner may be reconciled twice, which {@link #setDeferred(boolean) deferred} writes coalesce. The collections of
+ * an entity inserted by a flush are created by the same flush and already part of its new ACL, they are skipped
+ * until the flush is done. Deletes use the
+ * identifier carried by the event when the
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} is the identifier of the entity.
+ *
+ * @author Steven Zgaljic
+ */
+public class HibernateAclSecuredEventListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener, FlushEventListener, AutoFlushEventListener, BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateAclSecuredEventListener.class);
+
+    // the ACL relevant properties can't be told apart, every update is relevant
+    private static final RelevantProperties ALL_PROPERTIES = new RelevantProperties(new int[0],
+            Collections.emptySet());
+
+    private final Map<Class<?>, RelevantProperties> relevantProperties = new ConcurrentReferenceHashMap<>(16,
+            ConcurrentReferenceHashMap.ReferenceType.WEAK);
+    private final Set<EventListenerRegistry> registries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<SessionImplementor, Set<Object>> inserted = new ConcurrentReferenceHashMap<>(16,
+            ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+    private ObjectFactory<AclSecuredHandler> handler;
+    private ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry;
+    private ObjectFactory<JpaAclOutboxProcessor> outbox;
+    private boolean deferred = false;
+
+    /**
+     * Configures the {@link AclSecuredHandler} to be used to set the current ACL on the domain types touched.
+     *
+     * @param aclSecuredHandler must not be {@literal null}.
+     */
+    public void setAclSecuredHandler(ObjectFactory<AclSecuredHandler> aclSecuredHandler){
+        Assert.notNull(aclSecuredHandler, "AclSecuredHandler must not be null!");
+        this.handler = aclSecuredHandler;
+    }
+
+    /**
+     * Configures the {@link AclSecuredMetadataRegistry} the ACL relevant properties are resolved from.
+     *
+     * @param metadataRegistry must not be {@literal null}.
+     */
+    public void setMetadataRegistry(ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry) {
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    /**
+     * Configures whether ACL writes are deferred until the surrounding transaction commits and coalesced per
+     * entity. Without an active transaction writes are always issued immediately.
+     *
+     * @param deferred
+     */
+    public void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    /**
+     * Configures the {@link JpaAclOutboxProcessor} to record ACL writes with instead of writing them, making ACL
+     * maintenance asynchronous.
+     *
+     * @param aclOutboxProcessor must not be {@literal null}.
+     */
+    public void setAclOutboxProcessor(ObjectFactory<JpaAclOutboxProcessor> aclOutboxProcessor) {
+        Assert.notNull(aclOutboxProcessor, "JpaAclOutboxProcessor must not be null!");
+        this.outbox = aclOutboxProcessor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if( bean instanceof EntityManagerFactory )
+            register((EntityManagerFactory) bean, beanName);
+        return bean;
+    }
+
+    private void register(EntityManagerFactory emf, String beanName) {
+        SessionFactoryImplementor sessionFactory;
+        try{
+            sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        }catch(PersistenceException pe){
+            logger.warn("EntityManagerFactory {} isn't backed by Hibernate, ACLs aren't maintained for it", beanName);
+            return;
+        }
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        synchronized (registries){
+            if( !registries.add(registry) )
+                return;
+        }
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        // appended after the default listeners, so they are notified once a flush is done
+        registry.appendListeners(EventType.FLUSH, this);
+        registry.appendListeners(EventType.AUTO_FLUSH, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if( !isAclSecured(entity) )
+            return;
+
+        touch(entity, AclSecuredOperation.CREATE);
+
+        // entities inserted outside of a flush, for identity columns, have their collections created later on
+        SessionImplementor session = event.getSession();
+        if( session.getPersistenceContext().isFlushing() && hasRelevantCollections(entity, event.getPersister()) )
+            inserted.computeIfAbsent(session, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entity);
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        inserted.remove(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        inserted.remove(event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if( isAclSecured(event.getEntity()) && isAclRelevant(event) )
+            touch(event.getEntity(), AclSecuredOperation.UPDATE);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if( !isAclSecured(entity) )
+            return;
+
+        if( outbox != null || (deferred && DeferredAclSecuredSynchronization.isAvailable()) ){
+            touch(entity, AclSecuredOperation.DELETE);
+            return;
+        }
+
+        AclSecuredClassMetadata metadata = metadataRegistry.getObject().getMetadata(entity.getClass());
+        try {
+            if( metadata.getObjectIdField().getName().equals(event.getPersister().getIdentifierPropertyName()) )
+                handler.getObject().deleteAclsById(Collections.singletonList(
+                        new ObjectIdentityImpl(entity.getClass(), event.getId())));
+            else
+                handler.getObject().deleteAcl(entity);
+        } catch (Exception e) {
+            throw new AclRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Updates the ACL of the owner of a changed collection if the collection is an ACL relevant property. Owners
+     * being deleted are left alone, their collections are removed before the owner itself.
+     *
+     * @param event
+     */
+    private void onCollectionChanged(AbstractCollectionEvent event) {
+        Object owner = event.getAffectedOwnerOrNull();
+        if( !isAclSecured(owner) )
+            return;
+
+        EntityEntry entry = event.getSession().getPersistenceContext().getEntry(owner);
+        if( entry == null || entry.getStatus() == Status.DELETED || entry.getStatus() == Status.GONE )
+            return;
+
+        Set<Object> owners = inserted.get(event.getSession());
+        if( owners != null && owners.contains(owner) )
+            return;
+
+        String role = event.getCollection().getRole();
+        String property = role == null ? null : role.substring(role.lastIndexOf('.') + 1);
+        RelevantProperties relevant = relevantProperties.computeIfAbsent(owner.getClass(),
+                type -> getRelevantProperties(type, entry.getPersister()));
+        if( relevant == ALL_PROPERTIES || relevant.collections.contains(property) )
+            touch(owner, AclSecuredOperation.UPDATE);
+    }
+
+    private boolean hasRelevantCollections(Object entity, EntityPersister persister) {
+        RelevantProperties relevant = relevantProperties.computeIfAbsent(entity.getClass(),
+                type -> getRelevantProperties(type, persister));
+        return relevant == ALL_PROPERTIES || !relevant.collections.isEmpty();
+    }
+
+    /**
+     * Returns whether any of the dirty properties of the updated entity is ACL relevant. Without dirty properties,
+     * as for a merged entity without snapshot, every update is relevant. Changed collections are left to the
+     * collection events.
+     *
+     * @param event
+     * @return
+     */
+    private boolean isAclRelevant(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if( dirty == null )
+            return true;
+
+        RelevantProperties relevant = relevantProperties.computeIfAbsent(event.getEntity().getClass(),
+                type -> getRelevantProperties(type, event.getPersister()));
+        if( relevant == ALL_PROPERTIES )
+            return true;
+
+        for(int property : dirty){
+            for(int candidate : relevant.properties){
+                if( property == candidate )
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private RelevantProperties getRelevantProperties(Class<?> type, EntityPersister persister) {
+        AclSecuredClassMetadata metadata = metadataRegistry.getObject().getMetadata(type);
+        List<String> names = new ArrayList<>();
+        if( !metadata.getObjectIdField().getName().equals(persister.getIdentifierPropertyName()) )
+            names.add(metadata.getObjectIdField().getName());
+        if( metadata.hasParent() )
+            names.add(metadata.getParent().getField().getName());
+        for(AclAceMetadata ace : metadata.getAces())
+            names.add(ace.getField().getName());
+
+        String[] properties = persister.getPropertyNames();
+        List<Integer> relevant = new ArrayList<>(names.size());
+        Set<String> collections = new HashSet<>();
+        for(String name : names){
+            int index = -1;
+            for(int p=0; p<properties.length && index < 0; p++){
+                if( properties[p].equals(name) )
+                    index = p;
+            }
+            if( index < 0 ){
+                // not persistent, its changes can't be detected
+                return ALL_PROPERTIES;
+            }
+
+            if( persister.getPropertyTypes()[index].isCollectionType() )
+                collections.add(name);
+            else
+                relevant.add(index);
+        }
+
+        int[] indexes = new int[relevant.size()];
+        for(int i=0; i<indexes.length; i++)
+            indexes[i] = relevant.get(i);
+        return new RelevantProperties(indexes, collections);
+    }
+
+    private void touch(Object target, AclSecuredOperation operation) {
+        AclSecuredHandler object = handler.getObject();
+        try {
+            if( outbox != null ){
+                outbox.getObject().record(target, operation);
+                return;
+            }
+
+            if( deferred && DeferredAclSecuredSynchronization.isAvailable() ){
+                DeferredAclSecuredSynchronization.touch(object, target, operation);
+                return;
+            }
+
+            switch (operation){
+                case CREATE: object.createAcl(target); break;
+                case UPDATE: object.updateAcl(target); break;
+                case DELETE: object.deleteAcl(target); break;
+            }
+        } catch (Exception e) {
+            throw new AclRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean isAclSecured(Object entity) {
+        return entity != null && entity.getClass().getAnnotation(AclSecured.class) != null;
+    }
+
+    /**
+     * The indexes of the ACL relevant properties of an entity and the names of its ACL relevant collections.
+     */
+    private static class RelevantProperties {
+        private final int[] properties;
+        private final Set<String> collections;
+
+        RelevantProperties(int[] properties, Set<String> collections) {
+            this.properties = properties;
+            this.collections = collections;
+        }
+    }
+}
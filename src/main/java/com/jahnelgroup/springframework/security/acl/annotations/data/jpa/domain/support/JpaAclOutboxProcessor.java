@@ -0,0 +1,546 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredClassMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import com.jahnelgroup.springframework.security.acl.annotations.outbox.AclOutboxEntry;
+import com.jahnelgroup.springframework.security.acl.annotations.outbox.JdbcAclOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous ACL write pipeline for JPA entities. The {@link AclSecuredEntityListener} records an intent in the
+ * {@link JdbcAclOutbox} within the entity's transaction and a bounded pool of workers drains the outbox in
+ * batches, reloading each entity and handing them to the {@link AclSecuredHandler} in bulk.
+ *
+ * Entries are claimed in the {@link JdbcAclOutbox} before they're processed so that every entry is processed by a
+ * single node, even when several nodes run the processor. Entries are grouped per {@link ObjectIdentity} and every
+ * group is always processed by the same worker in the order it was recorded. A group is retried later if the
+ * reloaded entity is older than the recorded entity version. Failed groups are retried with a linear backoff until
+ * the maximum attempts are exhausted, later entries for the same {@link ObjectIdentity} wait for them.
+ *
+ * The groups of a batch are processed in waves by the depth of their class in the
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclParent} hierarchy, so parent ACLs are written
+ * before the ACLs of their children. Groups of a class which is its own parent are all processed by the same worker
+ * in the order they were recorded.
+ *
+ * @author Steven Zgaljic
+ */
+public class JpaAclOutboxProcessor implements SmartLifecycle, InitializingBean, BeanFactoryAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaAclOutboxProcessor.class);
+
+    private AclSecuredHandler aclSecuredHandler;
+    private AclSecuredMetadataRegistry metadataRegistry;
+    private JdbcAclOutbox aclOutbox;
+    private EntityManagerFactory entityManagerFactory;
+    private PlatformTransactionManager transactionManager;
+    private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+    private Authentication authentication;
+
+    private int workers = 4;
+    private int batchSize = 500;
+    private long pollInterval = 1000;
+    private int maxAttempts = 10;
+    private long retryBackoff = 5000;
+    private long claimLease = 300000;
+
+    private final String owner = UUID.randomUUID().toString();
+    private final Map<Class<?>, Integer> depths = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Boolean> recursive = new ConcurrentHashMap<>();
+
+    private final ClassValue<Optional<Member>> versionMembers = new ClassValue<Optional<Member>>() {
+        @Override
+        protected Optional<Member> computeValue(Class<?> type) {
+            return findVersionMember(type);
+        }
+    };
+
+    private BeanFactory beanFactory;
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService poller;
+    private ExecutorService[] partitions;
+    private volatile boolean running = false;
+
+    /**
+     * Records an intent for the provided entity within the current transaction.
+     *
+     * @param entity
+     * @param operation
+     */
+    public void record(Object entity, AclSecuredOperation operation) {
+        Object entityId = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        aclOutbox.record(entity.getClass().getName(), String.valueOf(entityId),
+                aclSecuredHandler.getObjectIdentity(entity), operation, getVersion(entity));
+    }
+
+    /**
+     * Returns the number of recorded intents still to be processed.
+     *
+     * @return
+     */
+    public long getQueueDepth() {
+        return aclOutbox.countPending(maxAttempts);
+    }
+
+    /**
+     * Returns the number of recorded intents which exhausted their attempts.
+     *
+     * @return
+     */
+    public long getFailedCount() {
+        return aclOutbox.countFailed(maxAttempts);
+    }
+
+    /**
+     * Drains the outbox until no more due entries are found.
+     */
+    public void drain() {
+        try{
+            List<AclOutboxEntry> batch;
+            do{
+                batch = aclOutbox.claim(owner, batchSize, maxAttempts, claimLease);
+                process(batch);
+            }while( running && batch.size() >= batchSize );
+        }catch(Exception e){
+            logger.error("Unable to drain the ACL outbox.", e);
+        }
+    }
+
+    private void process(List<AclOutboxEntry> batch) throws InterruptedException {
+        if( batch.isEmpty() )
+            return;
+
+        Map<ObjectIdentity, List<AclOutboxEntry>> groups = new LinkedHashMap<>();
+        for(AclOutboxEntry entry : batch)
+            groups.computeIfAbsent(entry.getObjectIdentity(), oi -> new ArrayList<>()).add(entry);
+
+        SortedMap<Integer, List<List<AclOutboxEntry>>> waves = new TreeMap<>();
+        for(List<AclOutboxEntry> group : groups.values())
+            waves.computeIfAbsent(getDepth(getEntityClass(group.get(0))), depth -> new ArrayList<>()).add(group);
+
+        for(List<List<AclOutboxEntry>> wave : waves.values())
+            processWave(wave);
+    }
+
+    /**
+     * Processes the groups of one depth across the workers and waits for all of them to complete.
+     *
+     * @param wave
+     * @throws InterruptedException
+     */
+    private void processWave(List<List<AclOutboxEntry>> wave) throws InterruptedException {
+        List<List<List<AclOutboxEntry>>> byPartition = new ArrayList<>(workers);
+        for(int i=0; i<workers; i++)
+            byPartition.add(new ArrayList<>());
+        for(List<AclOutboxEntry> group : wave){
+            Class<?> type = getEntityClass(group.get(0));
+            int hash = isRecursive(type) ? type.hashCode() : group.get(0).getObjectIdentity().hashCode();
+            byPartition.get(Math.floorMod(hash, workers)).add(group);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for(int i=0; i<workers; i++){
+            List<List<AclOutboxEntry>> partition = byPartition.get(i);
+            if( !partition.isEmpty() )
+                futures.add(partitions[i].submit(() -> processPartition(partition)));
+        }
+
+        for(Future<?> future : futures){
+            try{
+                future.get();
+            }catch(ExecutionException e){
+                logger.error("Unable to process ACL outbox partition.", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Processes all groups of a partition in a single transaction. If that fails each group is retried in its
+     * own transaction so that a single failing entity doesn't hold back the others.
+     *
+     * @param groups
+     */
+    private void processPartition(List<List<AclOutboxEntry>> groups) {
+        if( authentication != null )
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        try{
+            processGroups(groups);
+        }finally{
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void processGroups(List<List<AclOutboxEntry>> groups) {
+        try{
+            transactionTemplate.execute(status -> {
+                apply(groups);
+                return null;
+            });
+        }catch(Exception batchFailure){
+            for(List<AclOutboxEntry> group : groups){
+                try{
+                    transactionTemplate.execute(status -> {
+                        apply(Collections.singletonList(group));
+                        return null;
+                    });
+                }catch(Exception e){
+                    logger.warn("Unable to process ACL outbox entries for {}, attempt {} of {}.",
+                            group.get(0).getObjectIdentity(), group.get(0).getAttempts() + 1, maxAttempts, e);
+                    aclOutbox.reschedule(group, retryBackoff * (group.get(0).getAttempts() + 1));
+                }
+            }
+        }
+    }
+
+    private void apply(List<List<AclOutboxEntry>> groups) {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+
+        List<Object> created = new ArrayList<>();
+        List<Object> updated = new ArrayList<>();
+        List<ObjectIdentity> deleted = new ArrayList<>();
+        List<AclOutboxEntry> processed = new ArrayList<>();
+
+        for(List<AclOutboxEntry> group : groups){
+            AclOutboxEntry last = group.get(group.size() - 1);
+            processed.addAll(group);
+
+            if( last.getOperation() == AclSecuredOperation.DELETE ){
+                deleted.add(last.getObjectIdentity());
+                continue;
+            }
+
+            Object entity = find(em, last);
+            if( entity == null )
+                continue;
+
+            Long version = getVersion(entity);
+            for(AclOutboxEntry entry : group){
+                if( version != null && entry.getEntityVersion() != null && version < entry.getEntityVersion() ){
+                    throw new AclRuntimeException(String.format("Entity %s is at version %d but version %d was " +
+                            "recorded.", last.getObjectIdentity(), version, entry.getEntityVersion()));
+                }
+            }
+
+            if( group.stream().anyMatch(entry -> entry.getOperation() == AclSecuredOperation.CREATE) )
+                created.add(entity);
+            else
+                updated.add(entity);
+        }
+
+        if( !created.isEmpty() )
+            aclSecuredHandler.createAcls(created);
+        if( !updated.isEmpty() )
+            aclSecuredHandler.updateAcls(updated);
+        if( !deleted.isEmpty() )
+            aclSecuredHandler.deleteAclsById(deleted);
+
+        aclOutbox.delete(processed);
+    }
+
+    /**
+     * Returns the number of {@link com.jahnelgroup.springframework.security.acl.annotations.AclParent} classes above
+     * the provided class, not counting the class itself when it's its own parent.
+     *
+     * @param type
+     * @return
+     */
+    private int getDepth(Class<?> type) {
+        Integer depth = depths.get(type);
+        if( depth == null ){
+            depth = 0;
+            Set<Class<?>> visited = new HashSet<>();
+            for(Class<?> current = getParentType(type); current != null && visited.add(current);
+                current = getParentType(current)){
+                if( current != type )
+                    depth++;
+            }
+            depths.put(type, depth);
+        }
+        return depth;
+    }
+
+    private boolean isRecursive(Class<?> type) {
+        return recursive.computeIfAbsent(type, t -> {
+            Set<Class<?>> visited = new HashSet<>();
+            for(Class<?> current = getParentType(t); current != null && visited.add(current);
+                current = getParentType(current)){
+                if( current == t )
+                    return true;
+            }
+            return false;
+        });
+    }
+
+    private Class<?> getParentType(Class<?> type) {
+        AclSecuredClassMetadata metadata = metadataRegistry.getMetadata(type);
+        return metadata.hasParent() ? metadata.getParent().getParentType() : null;
+    }
+
+    private Class<?> getEntityClass(AclOutboxEntry entry) {
+        try{
+            return ClassUtils.forName(entry.getEntityClass(), getClass().getClassLoader());
+        }catch(ClassNotFoundException e){
+            throw new AclRuntimeException(e);
+        }
+    }
+
+    private Object find(EntityManager em, AclOutboxEntry entry) {
+        try{
+            Class<?> type = ClassUtils.forName(entry.getEntityClass(), getClass().getClassLoader());
+            Class<?> idType = entityManagerFactory.getMetamodel().entity(type).getIdType().getJavaType();
+            return em.find(type, conversionService.convert(entry.getEntityId(), idType));
+        }catch(ClassNotFoundException e){
+            throw new AclRuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the JPA version attribute of the entity as a long or {@literal null} if the entity
+     * isn't versioned.
+     *
+     * @param entity
+     * @return
+     */
+    private Long getVersion(Object entity) {
+        Optional<Member> member = versionMembers.get(entity.getClass());
+        if( !member.isPresent() )
+            return null;
+
+        Object value;
+        if( member.get() instanceof Field ){
+            value = ReflectionUtils.getField((Field) member.get(), entity);
+        }else{
+            value = ReflectionUtils.invokeMethod((Method) member.get(), entity);
+        }
+
+        if( value instanceof Number )
+            return ((Number) value).longValue();
+        if( value instanceof Date )
+            return ((Date) value).getTime();
+        return null;
+    }
+
+    private Optional<Member> findVersionMember(Class<?> type) {
+        EntityType<?> entityType = entityManagerFactory.getMetamodel().entity(type);
+        if( !entityType.hasVersionAttribute() )
+            return Optional.empty();
+
+        for(SingularAttribute<?, ?> attribute : entityType.getSingularAttributes()){
+            if( attribute.isVersion() ){
+                Member member = attribute.getJavaMember();
+                if( member instanceof Field )
+                    ReflectionUtils.makeAccessible((Field) member);
+                else if( member instanceof Method )
+                    ReflectionUtils.makeAccessible((Method) member);
+                return Optional.of(member);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if( entityManagerFactory == null && beanFactory != null )
+            entityManagerFactory = beanFactory.getBean(EntityManagerFactory.class);
+        if( transactionManager == null && beanFactory != null )
+            transactionManager = beanFactory.getBean(PlatformTransactionManager.class);
+        if( metadataRegistry == null && beanFactory != null )
+            metadataRegistry = beanFactory.getBean(AclSecuredMetadataRegistry.class);
+
+        Assert.notNull(aclSecuredHandler, "AclSecuredHandler must not be null!");
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        Assert.notNull(aclOutbox, "JdbcAclOutbox must not be null!");
+        Assert.notNull(entityManagerFactory, "EntityManagerFactory must not be null!");
+        Assert.notNull(transactionManager, "PlatformTransactionManager must not be null!");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        if( running )
+            return;
+
+        partitions = new ExecutorService[workers];
+        for(int i=0; i<workers; i++)
+            partitions[i] = Executors.newSingleThreadExecutor(threadFactory("acl-outbox-worker-" + i + "-"));
+
+        poller = Executors.newSingleThreadScheduledExecutor(threadFactory("acl-outbox-poller-"));
+        running = true;
+        poller.scheduleWithFixedDelay(this::drain, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if( !running )
+            return;
+
+        running = false;
+        poller.shutdown();
+        try{
+            poller.awaitTermination(30, TimeUnit.SECONDS);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        for(ExecutorService partition : partitions)
+            partition.shutdown();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public void setAclSecuredHandler(AclSecuredHandler aclSecuredHandler) {
+        this.aclSecuredHandler = aclSecuredHandler;
+    }
+
+    public void setMetadataRegistry(AclSecuredMetadataRegistry metadataRegistry) {
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    public void setAclOutbox(JdbcAclOutbox aclOutbox) {
+        this.aclOutbox = aclOutbox;
+    }
+
+    public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * Sets the {@link Authentication} the workers run as. ACLs created by the workers are owned by it and it must
+     * pass the {@link org.springframework.security.acls.domain.AclAuthorizationStrategy} of the
+     * {@link org.springframework.security.acls.model.MutableAclService}.
+     *
+     * @param authentication
+     */
+    public void setAuthentication(Authentication authentication) {
+        this.authentication = authentication;
+    }
+
+    /**
+     * Sets the number of workers, entities with the same {@link ObjectIdentity} are always handled by the same
+     * worker. Defaults to 4.
+     *
+     * @param workers
+     */
+    public void setWorkers(int workers) {
+        Assert.isTrue(workers > 0, "Workers must be greater than zero!");
+        this.workers = workers;
+    }
+
+    /**
+     * Sets the maximum number of outbox entries read per batch. Defaults to 500.
+     *
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "BatchSize must be greater than zero!");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the delay in milliseconds between draining the outbox. Defaults to 1000.
+     *
+     * @param pollInterval
+     */
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Sets the number of attempts after which an entry is no longer processed. Defaults to 10.
+     *
+     * @param maxAttempts
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Sets the delay in milliseconds added per failed attempt before an entry is retried. Defaults to 5000.
+     *
+     * @param retryBackoff
+     */
+    public void setRetryBackoff(long retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Sets how long in milliseconds claimed entries are held before other nodes may claim them again, it must
+     * exceed the time needed to process a batch. Defaults to 300000.
+     *
+     * @param claimLease
+     */
+    public void setClaimLease(long claimLease) {
+        Assert.isTrue(claimLease > 0, "ClaimLease must be greater than zero!");
+        this.claimLease = claimLease;
+    }
+}
@@ -0,0 +1,67 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredIndex;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.Set;
+
+/**
+ * Scans the metamodel of every {@link EntityManagerFactory} once all singletons are created and registers each
+ * entity annotated with {@link AclSecured} with the {@link AclSecuredMetadataRegistry}, so that misconfigured
+ * entities fail the application startup instead of the first save. The classes of the {@link AclSecuredIndex} written
+ * by the annotation processor are registered as well, the index may be partial after an incremental compilation.
+ *
+ * @author Steven Zgaljic
+ */
+public class JpaAclSecuredMetadataInitializer implements SmartInitializingSingleton, BeanFactoryAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaAclSecuredMetadataInitializer.class);
+
+    private final AclSecuredMetadataRegistry metadataRegistry;
+    private ListableBeanFactory beanFactory;
+
+    public JpaAclSecuredMetadataInitializer(AclSecuredMetadataRegistry metadataRegistry) {
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ClassLoader classLoader = beanFactory instanceof ConfigurableBeanFactory ?
+                ((ConfigurableBeanFactory) beanFactory).getBeanClassLoader() : null;
+        Set<Class<?>> types = AclSecuredIndex.load(classLoader != null ? classLoader :
+                ClassUtils.getDefaultClassLoader());
+
+        for(EntityManagerFactory emf : beanFactory.getBeansOfType(EntityManagerFactory.class).values()){
+            for(EntityType<?> entity : emf.getMetamodel().getEntities()){
+                Class<?> type = entity.getJavaType();
+                if( type != null && type.getAnnotation(AclSecured.class) != null )
+                    types.add(type);
+            }
+        }
+
+        for(Class<?> type : types){
+            metadataRegistry.getMetadata(type);
+            logger.debug("Registered @AclSecured entity {}.", type.getName());
+        }
+    }
+}
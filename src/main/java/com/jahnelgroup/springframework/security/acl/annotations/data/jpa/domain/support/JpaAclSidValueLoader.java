@@ -0,0 +1,145 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+import com.jahnelgroup.springframework.security.acl.annotations.mapper.AclSidValueLoader;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.EntityType;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link AclSidValueLoader} which detects {@link AclAce} collections that haven't been loaded through the
+ * {@link PersistenceUnitUtil} and selects only the {@link AclSid} values of their elements with a projection query,
+ * instead of loading every element of the collection.
+ *
+ * The query runs through the {@link EntityManager} bound to the current transaction so that it sees the changes
+ * flushed by it. Outside of a transaction, or when Hibernate has queued additions or removals on the collection
+ * which the query wouldn't see, the collection is iterated as before.
+ *
+ * @author Steven Zgaljic
+ */
+public class JpaAclSidValueLoader implements AclSidValueLoader, BeanFactoryAware {
+
+    private static final boolean HIBERNATE_PRESENT = ClassUtils.isPresent(
+            "org.hibernate.collection.spi.PersistentCollection", JpaAclSidValueLoader.class.getClassLoader());
+
+    private final Map<Class<?>, Owner> owners = new ConcurrentReferenceHashMap<>(16,
+            ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+    private ListableBeanFactory beanFactory;
+    private volatile List<EntityManagerFactory> entityManagerFactories;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    /**
+     * Sets the {@link EntityManagerFactory}'s to load sid values with, by default every one in the bean factory.
+     *
+     * @param entityManagerFactories
+     */
+    public void setEntityManagerFactories(List<EntityManagerFactory> entityManagerFactories) {
+        Assert.notNull(entityManagerFactories, "EntityManagerFactories must not be null!");
+        this.entityManagerFactories = entityManagerFactories;
+    }
+
+    @Override
+    public List<Serializable> load(Object object, AclAceMetadata ace) {
+        Owner owner = owners.computeIfAbsent(object.getClass(), this::getOwner);
+        if( owner.emf == null )
+            return null;
+
+        PersistenceUnitUtil util = owner.emf.getPersistenceUnitUtil();
+        if( util.isLoaded(object, ace.getField().getName()) )
+            return null;
+
+        if( HIBERNATE_PRESENT && HibernateCollections.hasQueuedOperations(ace.getAccessor().get(object)) )
+            return null;
+
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(owner.emf);
+        if( em == null )
+            return null;
+
+        // the changes of the transaction are flushed before the listener is invoked and the listener may be
+        // invoked from within a flush, so the query must not flush again
+        List<?> values = em.createQuery(owner.queries.computeIfAbsent(ace.getField(), f -> owner.buildQuery(ace)))
+                .setFlushMode(FlushModeType.COMMIT)
+                .setParameter("owner", object)
+                .getResultList();
+
+        List<Serializable> result = new ArrayList<>(values.size());
+        for(Object value : values){
+            if( value != null )
+                result.add((Serializable) value);
+        }
+        return result;
+    }
+
+    private Owner getOwner(Class<?> type) {
+        List<EntityManagerFactory> emfs = entityManagerFactories;
+        if( emfs == null ){
+            emfs = new ArrayList<>(beanFactory.getBeansOfType(EntityManagerFactory.class).values());
+            entityManagerFactories = emfs;
+        }
+
+        // proxies, such as lazily loaded references, subclass their entity
+        for(Class<?> candidate = type; candidate != null && candidate != Object.class;
+                candidate = candidate.getSuperclass()){
+            for(EntityManagerFactory emf : emfs){
+                for(EntityType<?> entity : emf.getMetamodel().getEntities()){
+                    if( entity.getJavaType() == candidate )
+                        return new Owner(emf, entity.getName());
+                }
+            }
+        }
+        return new Owner(null, null);
+    }
+
+    /**
+     * Kept apart so that Hibernate is only loaded when present.
+     */
+    private static class HibernateCollections {
+
+        static boolean hasQueuedOperations(Object collection) {
+            return collection instanceof PersistentCollection &&
+                    ((PersistentCollection) collection).hasQueuedOperations();
+        }
+    }
+
+    private static class Owner {
+        private final EntityManagerFactory emf;
+        private final String entityName;
+        private final Map<Field, String> queries = new ConcurrentHashMap<>();
+
+        Owner(EntityManagerFactory emf, String entityName) {
+            this.emf = emf;
+            this.entityName = entityName;
+        }
+
+        String buildQuery(AclAceMetadata ace) {
+            return "select e." + ace.getSid().getField().getName() + " from " + entityName + " o join o."
+                    + ace.getField().getName() + " e where o = :owner";
+        }
+    }
+}
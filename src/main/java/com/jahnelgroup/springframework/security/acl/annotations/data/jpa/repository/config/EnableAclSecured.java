@@ -1,6 +1,8 @@
 package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.repository.config;
 
 import com.jahnelgroup.springframework.security.acl.annotations.config.JpaAclSecuredRegistrar;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclReconciliationMode;
+import com.jahnelgroup.springframework.security.acl.annotations.writer.AclEntryWriter;
 import org.springframework.context.annotation.Import;
 import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
 import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
@@ -35,4 +37,63 @@ public @interface EnableAclSecured {
      * @return
      */
     String aclServiceRef() default "aclService";
+
+    /**
+     * Configures the {@link AclEntryWriter} bean to be used, otherwise defaults to writing through the configured
+     * {@link AclService}.
+     *
+     * @return
+     */
+    String aclEntryWriterRef() default "";
+
+    /**
+     * Configures how the entries of an existing ACL are reconciled, defaults to {@link AclReconciliationMode#DELTA}.
+     *
+     * @return
+     */
+    AclReconciliationMode reconciliationMode() default AclReconciliationMode.DELTA;
+
+    /**
+     * Configures whether updates are skipped when the {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce},
+     * {@link com.jahnelgroup.springframework.security.acl.annotations.AclParent} and
+     * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} values are unchanged since the
+     * last write by this application, defaults to {@literal false}. Only enable it when this application is the
+     * single writer of the ACLs, changes by other nodes or direct AclService calls aren't noticed.
+     *
+     * @return
+     */
+    boolean skipUnchangedUpdates() default false;
+
+    /**
+     * Configures whether ACL writes are deferred until the surrounding transaction commits, coalescing multiple
+     * changes to the same entity into a single write. Defaults to {@literal false}.
+     *
+     * @return
+     */
+    boolean deferred() default false;
+
+    /**
+     * Configures whether ACL writes are recorded in an outbox within the entity's transaction and applied
+     * asynchronously by background workers. Requires the acl_outbox table from acl-outbox-schema.sql.
+     * Defaults to {@literal false}.
+     *
+     * @return
+     */
+    boolean async() default false;
+
+    /**
+     * Configures the {@link org.springframework.security.core.Authentication} bean the asynchronous workers run as.
+     *
+     * @return
+     */
+    String asyncAuthenticationRef() default "";
+
+    /**
+     * Configures whether ACLs are maintained through native Hibernate events instead of the
+     * {@link com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.AclSecuredEntityListener},
+     * skipping updates which don't change any ACL relevant property. Defaults to {@literal false}.
+     *
+     * @return
+     */
+    boolean hibernateEvents() default false;
 }
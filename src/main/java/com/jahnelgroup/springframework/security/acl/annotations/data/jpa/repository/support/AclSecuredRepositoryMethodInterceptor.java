@@ -0,0 +1,583 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.repository.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredClassMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Parameter;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link MethodInterceptor} maintaining the ACLs of the entities touched by the bulk operations of a repository,
+ * which bypass the JPA callbacks the {@link com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support.AclSecuredEntityListener}
+ * relies on:
+ *
+ * 1. deleteInBatch deletes the ACLs of the provided entities.
+ * 2. deleteAllInBatch and {@link Modifying} JPQL DELETE queries select the {@link ObjectIdentity}'s of the affected
+ *    entities with the same where clause before the statement runs and delete their ACLs afterwards. Only entities
+ *    whose {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} isn't selectable are loaded.
+ * 3. {@link Modifying} JPQL UPDATE queries which set an ACL relevant property select the identifiers of the affected
+ *    entities before the statement runs, reload them with one query afterwards and recompute their ACLs. Updates of
+ *    other properties are left alone.
+ *
+ * Each bulk operation is followed by a single batch of ACL writes within the same transaction. Native queries and
+ * queries using SpEL expressions can't be captured and are only logged.
+ *
+ * @author Steven Zgaljic
+ */
+class AclSecuredRepositoryMethodInterceptor implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AclSecuredRepositoryMethodInterceptor.class);
+
+    private static final Pattern DELETE = Pattern.compile(
+            "^\\s*delete\\s+(?:from\\s+)?([\\w.$]+)(?:\\s+(?:as\\s+)?(?!where\\b)(\\w+))?(\\s+where\\s+.*)?$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern UPDATE = Pattern.compile(
+            "^\\s*update\\s+([\\w.$]+)(?:\\s+(?:as\\s+)?(?!set\\b)(\\w+))?\\s+set\\s+(.*?)(\\s+where\\s+.*)?$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern ORDINAL = Pattern.compile("(?<![\\w'])\\?(\\d+)");
+    private static final Pattern NAMED = Pattern.compile("(?<![\\w:']):(\\w+)");
+    private static final String DEFAULT_ALIAS = "aclSecured";
+    private static final int MAX_IN_CLAUSE_SIZE = 500;
+    private static final boolean hibernatePresent = ClassUtils.isPresent(
+            "org.hibernate.engine.spi.SessionImplementor", AclSecuredRepositoryMethodInterceptor.class.getClassLoader());
+
+    private static final BulkOperation NONE = new BulkOperation(null, null, null);
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, BulkOperation> operations = new ConcurrentHashMap<>();
+
+    private final Class<?> domainType;
+    private final ObjectFactory<AclSecuredHandler> aclSecuredHandler;
+    private final ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry;
+    private final ListableBeanFactory beanFactory;
+
+    AclSecuredRepositoryMethodInterceptor(Class<?> domainType, ObjectFactory<AclSecuredHandler> aclSecuredHandler,
+                                          ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry,
+                                          ListableBeanFactory beanFactory) {
+        this.domainType = domainType;
+        this.aclSecuredHandler = aclSecuredHandler;
+        this.metadataRegistry = metadataRegistry;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        BulkOperation operation = operations.computeIfAbsent(invocation.getMethod(), this::getBulkOperation);
+        if( operation == NONE )
+            return invocation.proceed();
+
+        if( operation.kind == Kind.DELETE_ENTITIES ){
+            Object result = invocation.proceed();
+            List<Object> deleted = new ArrayList<>();
+            for(Object entity : (Iterable<?>) invocation.getArguments()[0]){
+                if( isAclSecured(entity.getClass()) )
+                    deleted.add(entity);
+            }
+            if( !deleted.isEmpty() )
+                aclSecuredHandler.getObject().deleteAcls(deleted);
+            return result;
+        }
+
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(operation.entity.emf);
+        if( em == null )
+            return invocation.proceed();
+
+        javax.persistence.Query query = em.createQuery(operation.select);
+        bind(query, invocation, operation);
+        List<?> captured = query.getResultList();
+
+        if( operation.kind == Kind.DELETE_SELECTED ){
+            // the entities have to be loaded before their rows are gone
+            List<ObjectIdentity> ois = new ArrayList<>();
+            List<Object> deleted = load(em, operation.entity, toObjectIdentities(operation.entity, captured, ois));
+            Object result = invocation.proceed();
+            if( !ois.isEmpty() )
+                aclSecuredHandler.getObject().deleteAclsById(ois);
+            if( !deleted.isEmpty() )
+                aclSecuredHandler.getObject().deleteAcls(deleted);
+            return result;
+        }
+
+        Object result = invocation.proceed();
+        if( captured.isEmpty() )
+            return result;
+
+        switch (operation.kind){
+            case DELETE_IDS:
+                aclSecuredHandler.getObject().deleteAclsById(toObjectIdentities(operation.entity, captured));
+                break;
+            case DELETE_ENTITIES_SELECTED:
+                aclSecuredHandler.getObject().deleteAcls(filter(captured));
+                break;
+            case UPDATE_IDS:
+                aclSecuredHandler.getObject().updateAcls(reload(em, operation.entity, captured));
+                break;
+            default:
+                aclSecuredHandler.getObject().updateAcls(refresh(em, operation.entity, filter(captured)));
+        }
+        return result;
+    }
+
+    private BulkOperation getBulkOperation(Method method) {
+        if( method.getName().equals("deleteInBatch") && method.getParameterCount() == 1
+                && Iterable.class.isAssignableFrom(method.getParameterTypes()[0]) )
+            return new BulkOperation(Kind.DELETE_ENTITIES, null, null);
+
+        if( method.getName().equals("deleteAllInBatch") && method.getParameterCount() == 0 ){
+            Entity entity = getEntity(domainType);
+            return entity == null ? NONE : getDeleteOperation(entity, DEFAULT_ALIAS, "");
+        }
+
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if( query == null || !AnnotatedElementUtils.hasAnnotation(method, Modifying.class) )
+            return NONE;
+
+        if( query.nativeQuery() ){
+            logger.warn("ACLs aren't maintained for the native query of {}", method);
+            return NONE;
+        }
+
+        String jpql = query.value();
+        if( jpql.contains("#{") ){
+            logger.warn("ACLs aren't maintained for the SpEL query of {}", method);
+            return NONE;
+        }
+
+        Matcher delete = DELETE.matcher(jpql);
+        if( delete.matches() ){
+            Entity entity = getEntity(delete.group(1));
+            return entity == null ? NONE : resolveParameters(method,
+                    getDeleteOperation(entity, alias(delete.group(2)), where(delete.group(3))));
+        }
+
+        Matcher update = UPDATE.matcher(jpql);
+        if( update.matches() ){
+            Entity entity = getEntity(update.group(1));
+            String alias = alias(update.group(2));
+            if( entity == null || entity.metadata == null || !setsAclProperty(entity, alias, update.group(3)) )
+                return NONE;
+            if( entity.idAttribute == null )
+                return resolveParameters(method, new BulkOperation(Kind.UPDATE, entity, "select " + alias
+                        + " from " + entity.type.getName() + " " + alias + where(update.group(4))));
+            return resolveParameters(method, new BulkOperation(Kind.UPDATE_IDS, entity, "select " + alias + "."
+                    + entity.idAttribute + " from " + entity.type.getName() + " " + alias + where(update.group(4))));
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Selects the {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} values when they are
+     * persistent, along with the type of each entity if the entity has mapped subtypes. Otherwise, which is also the
+     * case when only subtypes of the entity are {@link AclSecured}, the identifiers and types are selected and only
+     * the entities whose {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} isn't their
+     * identifier are loaded. The entities themselves are selected if there is no single identifier.
+     *
+     * @param entity
+     * @param alias
+     * @param where
+     * @return
+     */
+    private BulkOperation getDeleteOperation(Entity entity, String alias, String where) {
+        if( entity.metadata == null || !hasAttribute(entity.type, entity.metadata.getObjectIdField().getName()) ){
+            if( entity.idAttribute == null )
+                return new BulkOperation(Kind.DELETE_ENTITIES_SELECTED, entity, "select " + alias + " from "
+                        + entity.type.getName() + " " + alias + where);
+
+            String id = alias + "." + entity.idAttribute;
+            return new BulkOperation(Kind.DELETE_SELECTED, entity, "select " + (entity.polymorphic
+                    ? id + ", type(" + alias + ")" : id) + " from " + entity.type.getName() + " " + alias + where);
+        }
+
+        String objectId = entity.metadata.getObjectIdField().getName();
+
+        String select = entity.polymorphic ? alias + "." + objectId + ", type(" + alias + ")" : alias + "." + objectId;
+        return new BulkOperation(Kind.DELETE_IDS, entity, "select " + select + " from " + entity.type.getName() + " "
+                + alias + where);
+    }
+
+    private boolean setsAclProperty(Entity entity, String alias, String set) {
+        List<String> properties = new ArrayList<>();
+        properties.add(entity.metadata.getObjectIdField().getName());
+        if( entity.metadata.getParent() != null )
+            properties.add(entity.metadata.getParent().getField().getName());
+        for(AclAceMetadata ace : entity.metadata.getAces())
+            properties.add(ace.getField().getName());
+
+        for(String property : properties){
+            Pattern assignment = Pattern.compile("(?<![\\w.])(?:" + Pattern.quote(alias) + "\\.)?"
+                    + Pattern.quote(property) + "\\s*=");
+            if( assignment.matcher(set).find() )
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the method argument of each named parameter of the capturing query, through its {@link Param} or else
+     * the discovered parameter names. The bulk operation is only logged if any of them can't be resolved, as when
+     * compiled without parameter names.
+     *
+     * @param method
+     * @param operation
+     * @return
+     */
+    private BulkOperation resolveParameters(Method method, BulkOperation operation) {
+        java.lang.reflect.Parameter[] parameters = method.getParameters();
+        String[] names = null;
+
+        Matcher named = NAMED.matcher(operation.select);
+        while( named.find() ){
+            String name = named.group(1);
+            int index = -1;
+            for(int i=0; i<parameters.length && index < 0; i++){
+                Param param = parameters[i].getAnnotation(Param.class);
+                if( param != null && param.value().equals(name) )
+                    index = i;
+            }
+            if( index < 0 ){
+                if( names == null )
+                    names = parameterNameDiscoverer.getParameterNames(method);
+                for(int i=0; names != null && i<names.length && index < 0; i++){
+                    if( names[i].equals(name) )
+                        index = i;
+                }
+            }
+            if( index < 0 ){
+                logger.warn("ACLs aren't maintained for {}, unable to resolve its parameter {}", method, name);
+                return NONE;
+            }
+            operation.parameters.put(name, index);
+        }
+        return operation;
+    }
+
+    /**
+     * Binds the parameters of the capturing query, which are the parameters of the where clause of the bulk query,
+     * from the arguments of the query method. Ordinal parameters are bound from the argument at their position in
+     * the bulk query.
+     *
+     * @param query
+     * @param invocation
+     * @param operation
+     */
+    private void bind(javax.persistence.Query query, MethodInvocation invocation, BulkOperation operation) {
+        Object[] args = invocation.getArguments();
+        for(Parameter<?> parameter : query.getParameters()){
+            if( parameter.getName() == null )
+                query.setParameter(parameter.getPosition(), args[operation.ordinals[parameter.getPosition() - 1] - 1]);
+            else
+                query.setParameter(parameter.getName(), args[operation.parameters.get(parameter.getName())]);
+        }
+    }
+
+    private Collection<ObjectIdentity> toObjectIdentities(Entity entity, List<?> captured) {
+        List<ObjectIdentity> ois = new ArrayList<>(captured.size());
+        for(Object row : captured){
+            if( !entity.polymorphic ){
+                ois.add(new ObjectIdentityImpl(entity.type.getJavaType(), (Serializable) row));
+                continue;
+            }
+
+            Object[] values = (Object[]) row;
+            if( isAclSecured((Class<?>) values[1]) )
+                ois.add(new ObjectIdentityImpl((Class<?>) values[1], (Serializable) values[0]));
+        }
+        return ois;
+    }
+
+    /**
+     * Collects the {@link ObjectIdentity}'s of the selected identifiers whose {@link AclSecured} type uses its
+     * identifier as {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} and returns the
+     * identifiers of the other {@link AclSecured} entities, which have to be loaded.
+     *
+     * @param entity
+     * @param captured
+     * @param ois
+     * @return
+     */
+    private List<Object> toObjectIdentities(Entity entity, List<?> captured, List<ObjectIdentity> ois) {
+        List<Object> ids = new ArrayList<>();
+        for(Object row : captured){
+            Object id = entity.polymorphic ? ((Object[]) row)[0] : row;
+            Class<?> type = entity.polymorphic ? (Class<?>) ((Object[]) row)[1] : entity.type.getJavaType();
+            if( !isAclSecured(type) )
+                continue;
+
+            if( metadataRegistry.getObject().getMetadata(type).getObjectIdField().getName().equals(entity.idAttribute) )
+                ois.add(new ObjectIdentityImpl(type, (Serializable) id));
+            else
+                ids.add(id);
+        }
+        return ids;
+    }
+
+    private List<Object> filter(List<?> entities) {
+        List<Object> filtered = new ArrayList<>(entities.size());
+        for(Object entity : entities){
+            if( isAclSecured(entity.getClass()) )
+                filtered.add(entity);
+        }
+        return filtered;
+    }
+
+    /**
+     * Loads the {@link AclSecured} entities with the provided identifiers with one query per chunk.
+     *
+     * @param em
+     * @param entity
+     * @param ids
+     * @return
+     */
+    private List<Object> load(EntityManager em, Entity entity, List<?> ids) {
+        List<Object> loaded = new ArrayList<>(ids.size());
+        String select = "select " + DEFAULT_ALIAS + " from " + entity.type.getName() + " " + DEFAULT_ALIAS
+                + " where " + DEFAULT_ALIAS + "." + entity.idAttribute + " in :ids";
+        for(int i=0; i<ids.size(); i+=MAX_IN_CLAUSE_SIZE){
+            javax.persistence.Query query = em.createQuery(select);
+            query.setParameter("ids", ids.subList(i, Math.min(i + MAX_IN_CLAUSE_SIZE, ids.size())));
+            loaded.addAll(filter(query.getResultList()));
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the state of the entities with the provided identifiers after the bulk update. They are loaded with
+     * one query per chunk, but entities which were already managed keep their stale state on being queried and are
+     * refreshed. Without Hibernate the managed entities can't be told apart and all of them are refreshed.
+     *
+     * @param em
+     * @param entity
+     * @param ids
+     * @return
+     */
+    private List<Object> reload(EntityManager em, Entity entity, List<?> ids) {
+        List<Object> managed = hibernatePresent ? HibernateSupport.getManaged(em, entity.type.getJavaType(), ids)
+                : null;
+        List<Object> reloaded = load(em, entity, ids);
+        for(Object object : managed != null ? managed : reloaded){
+            if( managed == null || isAclSecured(object.getClass()) )
+                em.refresh(object);
+        }
+        return reloaded;
+    }
+
+    /**
+     * Returns the state of the provided entities after the bulk update, refreshing the ones still managed and
+     * finding the ones detached by a cleared persistence context again.
+     *
+     * @param em
+     * @param entity
+     * @param entities
+     * @return
+     */
+    private List<Object> refresh(EntityManager em, Entity entity, List<Object> entities) {
+        PersistenceUnitUtil util = entity.emf.getPersistenceUnitUtil();
+        List<Object> refreshed = new ArrayList<>(entities.size());
+        for(Object object : entities){
+            if( em.contains(object) ){
+                em.refresh(object);
+                refreshed.add(object);
+            }else{
+                Object found = em.find(object.getClass(), util.getIdentifier(object));
+                if( found != null )
+                    refreshed.add(found);
+            }
+        }
+        return refreshed;
+    }
+
+    private Entity getEntity(String name) {
+        for(EntityManagerFactory emf : beanFactory.getBeansOfType(EntityManagerFactory.class).values()){
+            for(EntityType<?> type : emf.getMetamodel().getEntities()){
+                if( type.getName().equals(name) || type.getJavaType().getName().equals(name) )
+                    return getEntity(emf, type);
+            }
+        }
+        return null;
+    }
+
+    private Entity getEntity(Class<?> javaType) {
+        for(EntityManagerFactory emf : beanFactory.getBeansOfType(EntityManagerFactory.class).values()){
+            for(EntityType<?> type : emf.getMetamodel().getEntities()){
+                if( type.getJavaType() == javaType )
+                    return getEntity(emf, type);
+            }
+        }
+        return null;
+    }
+
+    private Entity getEntity(EntityManagerFactory emf, EntityType<?> type) {
+        boolean polymorphic = false;
+        boolean secured = isAclSecured(type.getJavaType());
+        for(EntityType<?> other : emf.getMetamodel().getEntities()){
+            if( other != type && type.getJavaType().isAssignableFrom(other.getJavaType()) ){
+                polymorphic = true;
+                secured |= isAclSecured(other.getJavaType());
+            }
+        }
+        if( !secured )
+            return null;
+
+        AclSecuredClassMetadata metadata = isAclSecured(type.getJavaType())
+                ? metadataRegistry.getObject().getMetadata(type.getJavaType()) : null;
+        return new Entity(emf, type, metadata, polymorphic, getIdAttribute(type));
+    }
+
+    private static String getIdAttribute(EntityType<?> type) {
+        if( !type.hasSingleIdAttribute() )
+            return null;
+
+        for(SingularAttribute<?, ?> attribute : type.getSingularAttributes()){
+            if( attribute.isId() )
+                return attribute.getName();
+        }
+        return null;
+    }
+
+    private static boolean hasAttribute(EntityType<?> type, String name) {
+        try{
+            type.getAttribute(name);
+            return true;
+        }catch(IllegalArgumentException iae){
+            return false;
+        }
+    }
+
+    private static boolean isAclSecured(Class<?> type) {
+        return type.getAnnotation(AclSecured.class) != null;
+    }
+
+    private static String alias(String alias) {
+        return alias == null ? DEFAULT_ALIAS : alias;
+    }
+
+    private static String where(String where) {
+        return where == null ? "" : where;
+    }
+
+    private enum Kind {
+        DELETE_ENTITIES, DELETE_ENTITIES_SELECTED, DELETE_SELECTED, DELETE_IDS, UPDATE, UPDATE_IDS
+    }
+
+    private static class Entity {
+        private final EntityManagerFactory emf;
+        private final EntityType<?> type;
+        private final AclSecuredClassMetadata metadata;
+        private final boolean polymorphic;
+        private final String idAttribute;
+
+        Entity(EntityManagerFactory emf, EntityType<?> type, AclSecuredClassMetadata metadata, boolean polymorphic,
+               String idAttribute) {
+            this.emf = emf;
+            this.type = type;
+            this.metadata = metadata;
+            this.polymorphic = polymorphic;
+            this.idAttribute = idAttribute;
+        }
+    }
+
+    /**
+     * Looks up managed entities in the Hibernate persistence context without loading them, kept apart so that
+     * Hibernate is only linked when it's present.
+     */
+    private static class HibernateSupport {
+
+        /**
+         * Returns the entities with the provided identifiers which are managed by the {@link EntityManager}, or
+         * {@literal null} if it isn't backed by Hibernate.
+         */
+        static List<Object> getManaged(EntityManager em, Class<?> type, List<?> ids) {
+            SessionImplementor session;
+            try{
+                session = em.unwrap(SessionImplementor.class);
+            }catch(PersistenceException pe){
+                return null;
+            }
+
+            EntityPersister persister = session.getFactory().getMetamodel().entityPersister(type);
+            PersistenceContext context = session.getPersistenceContext();
+            List<Object> managed = new ArrayList<>();
+            for(Object id : ids){
+                Object entity = context.getEntity(session.generateEntityKey((Serializable) id, persister));
+                if( entity != null )
+                    managed.add(entity);
+            }
+            return managed;
+        }
+    }
+
+    private static class BulkOperation {
+        private final Kind kind;
+        private final Entity entity;
+        private final String select;
+        private final int[] ordinals;
+        private final Map<String, Integer> parameters = new HashMap<>();
+
+        /**
+         * The capturing query only keeps the where clause of the bulk query, its ordinal parameters are renumbered
+         * without gaps and the original ordinal of each is kept to bind it from the right argument.
+         */
+        BulkOperation(Kind kind, Entity entity, String select) {
+            this.kind = kind;
+            this.entity = entity;
+
+            List<Integer> ordinals = new ArrayList<>();
+            StringBuffer renumbered = new StringBuffer();
+            Matcher matcher = select == null ? null : ORDINAL.matcher(select);
+            while( matcher != null && matcher.find() ){
+                int ordinal = Integer.parseInt(matcher.group(1));
+                int index = ordinals.indexOf(ordinal);
+                if( index < 0 ){
+                    ordinals.add(ordinal);
+                    index = ordinals.size() - 1;
+                }
+                matcher.appendReplacement(renumbered, "?" + (index + 1));
+            }
+            if( matcher != null )
+                matcher.appendTail(renumbered);
+
+            this.select = select == null ? null : renumbered.toString();
+            this.ordinals = new int[ordinals.size()];
+            for(int i=0; i<this.ordinals.length; i++)
+                this.ordinals[i] = ordinals.get(i);
+        }
+    }
+}
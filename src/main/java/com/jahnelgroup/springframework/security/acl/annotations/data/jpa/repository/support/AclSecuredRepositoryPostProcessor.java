@@ -0,0 +1,72 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.repository.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BeanPostProcessor} adding an {@link AclSecuredRepositoryMethodInterceptor} to every Spring Data
+ * repository, right after its {@link TransactionInterceptor}, so the ACLs of the entities touched by bulk operations
+ * are maintained within the transaction of the bulk operation itself.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredRepositoryPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private ObjectFactory<AclSecuredHandler> aclSecuredHandler;
+    private ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry;
+    private ListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if( !(bean instanceof Repository) || !(bean instanceof Advised) || !beanFactory.containsBean(
+                BeanFactory.FACTORY_BEAN_PREFIX + beanName) )
+            return bean;
+
+        Object factory = beanFactory.getBean(BeanFactory.FACTORY_BEAN_PREFIX + beanName);
+        if( !(factory instanceof RepositoryFactoryInformation) )
+            return bean;
+
+        Class<?> domainType = ((RepositoryFactoryInformation<?, ?>) factory).getRepositoryInformation().getDomainType();
+        Advised advised = (Advised) bean;
+        advised.addAdvice(getPosition(advised), new AclSecuredRepositoryMethodInterceptor(domainType,
+                aclSecuredHandler, metadataRegistry, beanFactory));
+        return bean;
+    }
+
+    private int getPosition(Advised advised) {
+        Advisor[] advisors = advised.getAdvisors();
+        for(int i=0; i<advisors.length; i++){
+            Advice advice = advisors[i].getAdvice();
+            if( advice instanceof TransactionInterceptor )
+                return i + 1;
+        }
+        return 0;
+    }
+
+    public void setAclSecuredHandler(ObjectFactory<AclSecuredHandler> aclSecuredHandler) {
+        this.aclSecuredHandler = aclSecuredHandler;
+    }
+
+    public void setMetadataRegistry(ObjectFactory<AclSecuredMetadataRegistry> metadataRegistry) {
+        this.metadataRegistry = metadataRegistry;
+    }
+}
@@ -0,0 +1,168 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.Arrays;
+
+/**
+ * Insertion ordered set of desired entries keyed on their {@link Sid} and permission mask, the first granting flag
+ * added for a key wins.
+ *
+ * Keys are packed into a primitive long made of an ordinal of the {@link Sid} and the permission mask, and are held
+ * in an open addressing table. The ordinal of a {@link Sid} is the index of its first entry, found through a second
+ * open addressing table over the held {@link Sid}'s which compares the instance before {@link Sid#equals(Object)},
+ * so pooled {@link Sid}'s rarely need an equals call while equal {@link Sid}'s still share a key whichever instance
+ * they are.
+ *
+ * @author Steven Zgaljic
+ */
+final class AclEntrySet {
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] slots;
+    private int[] sidSlots;
+    private int mask;
+
+    private Sid[] sids;
+    private Permission[] permissions;
+    private boolean[] granting;
+    private int size;
+
+    AclEntrySet(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while( capacity < expectedSize * 2 )
+            capacity <<= 1;
+
+        this.keys = new long[capacity];
+        this.slots = new int[capacity];
+        this.sidSlots = new int[capacity];
+        this.mask = capacity - 1;
+        this.sids = new Sid[capacity / 2];
+        this.permissions = new Permission[capacity / 2];
+        this.granting = new boolean[capacity / 2];
+    }
+
+    /**
+     * Adds the entry unless an entry for the same {@link Sid} and permission mask exists.
+     *
+     * @param sid
+     * @param permission
+     * @param isGranting
+     * @return true if the entry was added
+     */
+    boolean add(Sid sid, Permission permission, boolean isGranting) {
+        int sidSlot = sidSlot(sid);
+        long key = key(sidSlots[sidSlot] == 0 ? size : sidSlots[sidSlot] - 1, permission);
+        int slot = slot(key);
+        if( slots[slot] != 0 )
+            return false;
+
+        if( size == sids.length ){
+            grow();
+            slot = slot(key);
+            sidSlot = sidSlot(sid);
+        }
+
+        keys[slot] = key;
+        slots[slot] = size + 1;
+        if( sidSlots[sidSlot] == 0 )
+            sidSlots[sidSlot] = size + 1;
+        sids[size] = sid;
+        permissions[size] = permission;
+        granting[size] = isGranting;
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the index of the entry for the {@link Sid} and permission mask or -1 if there is none.
+     *
+     * @param sid
+     * @param permission
+     * @return
+     */
+    int indexOf(Sid sid, Permission permission) {
+        int first = sidSlots[sidSlot(sid)];
+        if( first == 0 )
+            return -1;
+        return slots[slot(key(first - 1, permission))] - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Sid getSid(int index) {
+        return sids[index];
+    }
+
+    Permission getPermission(int index) {
+        return permissions[index];
+    }
+
+    boolean isGranting(int index) {
+        return granting[index];
+    }
+
+    private static long key(int ordinal, Permission permission) {
+        return ((long) ordinal << 32) | (permission.getMask() & 0xffffffffL);
+    }
+
+    /**
+     * Returns the slot holding the index of the first entry of an equal {@link Sid}, or the empty slot it would be
+     * placed in.
+     */
+    private int sidSlot(Sid sid) {
+        int slot = mix(sid.hashCode()) & mask;
+        while( sidSlots[slot] != 0 ){
+            Sid existing = sids[sidSlots[slot] - 1];
+            if( existing == sid || existing.equals(sid) )
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot it would be placed in.
+     */
+    private int slot(long key) {
+        int slot = mix(key) & mask;
+        while( slots[slot] != 0 && keys[slot] != key )
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        int[] oldSidSlots = sidSlots;
+
+        keys = new long[oldKeys.length << 1];
+        slots = new int[oldSlots.length << 1];
+        sidSlots = new int[oldSidSlots.length << 1];
+        mask = keys.length - 1;
+        for(int i=0; i<oldSlots.length; i++){
+            if( oldSlots[i] != 0 ){
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                slots[slot] = oldSlots[i];
+            }
+            if( oldSidSlots[i] != 0 )
+                sidSlots[sidSlot(sids[oldSidSlots[i] - 1])] = oldSidSlots[i];
+        }
+
+        int capacity = keys.length / 2;
+        sids = Arrays.copyOf(sids, capacity);
+        permissions = Arrays.copyOf(permissions, capacity);
+        granting = Arrays.copyOf(granting, capacity);
+    }
+}
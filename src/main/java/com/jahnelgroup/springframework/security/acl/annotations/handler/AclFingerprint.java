@@ -0,0 +1,57 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The ACL relevant values last written for an {@link ObjectIdentity}, being the parent, its entries inheriting flag
+ * and the desired entries in order. Two fingerprints are only equal if all of these values are equal, so unlike a
+ * hash they never match for different values.
+ *
+ * @author Steven Zgaljic
+ */
+public final class AclFingerprint {
+
+    private final ObjectIdentity parent;
+    private final boolean inheriting;
+    private final Sid[] sids;
+    private final int[] masks;
+    private final boolean[] granting;
+    private final int hashCode;
+
+    AclFingerprint(ObjectIdentity parent, boolean inheriting, AclEntrySet desired) {
+        this.parent = parent;
+        this.inheriting = inheriting;
+        this.sids = new Sid[desired.size()];
+        this.masks = new int[desired.size()];
+        this.granting = new boolean[desired.size()];
+        for(int i=0; i<desired.size(); i++){
+            sids[i] = desired.getSid(i);
+            masks[i] = desired.getPermission(i).getMask();
+            granting[i] = desired.isGranting(i);
+        }
+
+        int result = Objects.hash(parent, inheriting);
+        result = 31 * result + Arrays.hashCode(sids);
+        result = 31 * result + Arrays.hashCode(masks);
+        this.hashCode = 31 * result + Arrays.hashCode(granting);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AclFingerprint)) return false;
+        AclFingerprint that = (AclFingerprint) o;
+        return hashCode == that.hashCode && inheriting == that.inheriting && Objects.equals(parent, that.parent)
+                && Arrays.equals(masks, that.masks) && Arrays.equals(granting, that.granting)
+                && Arrays.equals(sids, that.sids);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -0,0 +1,112 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the {@link AclFingerprint} of the ACL relevant values last written for each {@link ObjectIdentity},
+ * so that updates which don't touch those values can be skipped.
+ *
+ * Fingerprints are held by soft references and are only recorded once the surrounding transaction commits, a
+ * rolled back write will never cause a later update to be skipped.
+ *
+ * The cache only knows about the writes of its own handler. It's only safe when that handler is the single writer
+ * of the ACLs, a write by another node or directly through the
+ * {@link org.springframework.security.acls.model.MutableAclService} isn't noticed and a later update restoring the
+ * values recorded here would be skipped.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclFingerprintCache {
+
+    private final Map<ObjectIdentity, AclFingerprint> fingerprints = new ConcurrentReferenceHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns true if the last recorded fingerprint for the {@link ObjectIdentity} matches the provided fingerprint.
+     *
+     * @param oi
+     * @param fingerprint
+     * @return
+     */
+    public boolean matches(ObjectIdentity oi, AclFingerprint fingerprint) {
+        AclFingerprint current = fingerprints.get(oi);
+        if( current != null && current.equals(fingerprint) ){
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Records the fingerprint for the {@link ObjectIdentity}. If a transaction is active the fingerprint is
+     * recorded after it commits.
+     *
+     * @param oi
+     * @param fingerprint
+     */
+    public void put(ObjectIdentity oi, AclFingerprint fingerprint) {
+        fingerprints.remove(oi);
+
+        if( TransactionSynchronizationManager.isSynchronizationActive() ){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    fingerprints.put(oi, fingerprint);
+                }
+            });
+        }else{
+            fingerprints.put(oi, fingerprint);
+        }
+    }
+
+    /**
+     * Forgets the fingerprint for the {@link ObjectIdentity}.
+     *
+     * @param oi
+     */
+    public void evict(ObjectIdentity oi) {
+        fingerprints.remove(oi);
+    }
+
+    /**
+     * Forgets all fingerprints.
+     */
+    public void clear() {
+        fingerprints.clear();
+    }
+
+    /**
+     * Returns the number of fingerprints currently held.
+     *
+     * @return
+     */
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Returns the number of lookups which matched the recorded fingerprint, letting the update be skipped.
+     *
+     * @return
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which didn't match a recorded fingerprint.
+     *
+     * @return
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,20 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+/**
+ * Determines how the {@link DefaultAclSecuredHandler} reconciles the entries of an existing ACL.
+ *
+ * @author Steven Zgaljic
+ */
+public enum AclReconciliationMode {
+
+    /**
+     * Deletes every entry and re-inserts the desired entries, then persists the entire ACL.
+     */
+    REPLACE,
+
+    /**
+     * Diffs the desired entries against the existing entries and only writes the additions and removals.
+     */
+    DELTA
+
+}
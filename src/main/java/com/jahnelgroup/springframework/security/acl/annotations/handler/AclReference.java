@@ -0,0 +1,149 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+import org.springframework.security.acls.model.*;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Lightweight {@link Acl} referring to an ACL by its {@link ObjectIdentity} alone. It's used to link a parent
+ * ACL without reading it, since storing the link only requires the parent's {@link ObjectIdentity}. The referenced
+ * ACL is read from the {@link AclService} the first time anything other than its {@link ObjectIdentity} is
+ * requested.
+ *
+ * It's a {@link MutableAcl} since the AclCache implementations expect the parent of a cached ACL to be one. Changes
+ * are applied to the referenced ACL. It's serialized as the referenced ACL, so a serialized cache never holds a
+ * reference without an {@link AclService} to resolve it.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclReference implements MutableAcl {
+
+    private final ObjectIdentity objectIdentity;
+    private final transient AclService aclService;
+    private transient volatile Acl acl;
+
+    public AclReference(ObjectIdentity objectIdentity, AclService aclService) {
+        this.objectIdentity = objectIdentity;
+        this.aclService = aclService;
+    }
+
+    @Override
+    public ObjectIdentity getObjectIdentity() {
+        return objectIdentity;
+    }
+
+    @Override
+    public Serializable getId() {
+        return mutable().getId();
+    }
+
+    @Override
+    public List<AccessControlEntry> getEntries() {
+        return resolve().getEntries();
+    }
+
+    @Override
+    public Sid getOwner() {
+        return resolve().getOwner();
+    }
+
+    @Override
+    public Acl getParentAcl() {
+        return resolve().getParentAcl();
+    }
+
+    @Override
+    public boolean isEntriesInheriting() {
+        return resolve().isEntriesInheriting();
+    }
+
+    @Override
+    public boolean isGranted(List<Permission> permission, List<Sid> sids, boolean administrativeMode)
+            throws NotFoundException, UnloadedSidException {
+        return resolve().isGranted(permission, sids, administrativeMode);
+    }
+
+    @Override
+    public boolean isSidLoaded(List<Sid> sids) {
+        return resolve().isSidLoaded(sids);
+    }
+
+    @Override
+    public void deleteAce(int aceIndex) throws NotFoundException {
+        mutable().deleteAce(aceIndex);
+    }
+
+    @Override
+    public void insertAce(int atIndexLocation, Permission permission, Sid sid, boolean granting)
+            throws NotFoundException {
+        mutable().insertAce(atIndexLocation, permission, sid, granting);
+    }
+
+    @Override
+    public void setOwner(Sid newOwner) {
+        mutable().setOwner(newOwner);
+    }
+
+    @Override
+    public void setEntriesInheriting(boolean entriesInheriting) {
+        mutable().setEntriesInheriting(entriesInheriting);
+    }
+
+    @Override
+    public void setParent(Acl newParent) {
+        mutable().setParent(newParent);
+    }
+
+    @Override
+    public void updateAce(int aceIndex, Permission permission) throws NotFoundException {
+        mutable().updateAce(aceIndex, permission);
+    }
+
+    private MutableAcl mutable() {
+        Acl result = resolve();
+        if( !(result instanceof MutableAcl) )
+            throw new UnsupportedOperationException("The ACL for " + objectIdentity + " is not mutable");
+        return (MutableAcl) result;
+    }
+
+    private Acl resolve() {
+        Acl result = acl;
+        if( result == null ){
+            if( aclService == null )
+                throw new IllegalStateException("Unable to resolve the ACL for " + objectIdentity
+                        + ", the AclReference has no AclService");
+            acl = result = aclService.readAclById(objectIdentity);
+        }
+        return result;
+    }
+
+    /**
+     * Serializes the referenced ACL instead of this reference, which can't be resolved without its
+     * {@link AclService} once deserialized.
+     *
+     * @return
+     * @throws ObjectStreamException
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        return resolve();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AclReference)) return false;
+        return objectIdentity.equals(((AclReference) o).objectIdentity);
+    }
+
+    @Override
+    public int hashCode() {
+        return objectIdentity.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AclReference[" + objectIdentity + "]";
+    }
+}
@@ -1,8 +1,12 @@
 package com.jahnelgroup.springframework.security.acl.annotations.handler;
 
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PermissionFactory;
 import org.springframework.security.acls.model.AclService;
 import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.util.Collection;
 
 /**
  * Acl secured handler to create, update and delete ACLs.
@@ -32,6 +36,61 @@ public interface AclSecuredHandler {
      */
     void deleteAcl(Object deleted);
 
+    /**
+     * Creates new ACLs for the saved Objects. By default each ACL is created through {@link #createAcl(Object)}.
+     *
+     * @param saved
+     */
+    default void createAcls(Collection<?> saved) {
+        for(Object object : saved)
+            createAcl(object);
+    }
+
+    /**
+     * Updates existing ACLs for the saved Objects. By default each ACL is updated through {@link #updateAcl(Object)}.
+     *
+     * @param saved
+     */
+    default void updateAcls(Collection<?> saved) {
+        for(Object object : saved)
+            updateAcl(object);
+    }
+
+    /**
+     * Deletes the entire ACLs for the provided Objects. By default each ACL is deleted through
+     * {@link #deleteAcl(Object)}.
+     *
+     * @param deleted
+     */
+    default void deleteAcls(Collection<?> deleted) {
+        for(Object object : deleted)
+            deleteAcl(object);
+    }
+
+    /**
+     * Deletes the entire ACLs stored under the provided {@link ObjectIdentity}'s. Not supported by default since
+     * there is no Object to hand to {@link #deleteAcl(Object)}.
+     *
+     * @param ois
+     * @throws UnsupportedOperationException if the handler can't delete ACLs by their {@link ObjectIdentity}
+     */
+    default void deleteAclsById(Collection<ObjectIdentity> ois) {
+        throw new UnsupportedOperationException("Deleting ACLs by their ObjectIdentity isn't supported by "
+                + getClass().getName());
+    }
+
+    /**
+     * Returns the {@link ObjectIdentity} the ACL of the provided Object is stored under. By default the identifier
+     * is read from the getId() method of the Object, like {@link ObjectIdentityImpl#ObjectIdentityImpl(Object)}
+     * does.
+     *
+     * @param object
+     * @return
+     */
+    default ObjectIdentity getObjectIdentity(Object object) {
+        return new ObjectIdentityImpl(object);
+    }
+
     /**
      * Sets the {@link AclService} to use during ACL evaluation.
      *
@@ -0,0 +1,61 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+import org.springframework.security.acls.model.ObjectIdentity;
+
+/**
+ * Callback notified by the {@link DefaultAclSecuredHandler} about the ACL maintenance it performs, for example to
+ * record metrics. Listeners are invoked synchronously on the writing thread and must not throw. Nothing is measured
+ * while no listener is registered.
+ *
+ * @author Steven Zgaljic
+ */
+public interface AclSecuredHandlerListener {
+
+    /**
+     * Invoked after a create, update or delete of one or more ACLs.
+     *
+     * @param operation
+     * @param entityType the entity class name, or {@literal null} if the written entities are of different classes
+     * @param count
+     * @param durationNanos
+     * @param success
+     */
+    default void afterWrite(AclSecuredOperation operation, String entityType, int count, long durationNanos,
+                            boolean success) {
+    }
+
+    /**
+     * Invoked for each ACL after its entries are written with the number of entries inserted and deleted.
+     *
+     * @param oi
+     * @param inserted
+     * @param deleted
+     */
+    default void afterEntriesWritten(ObjectIdentity oi, int inserted, int deleted) {
+    }
+
+    /**
+     * Returns true if the phases of the next write should be timed and reported through
+     * {@link #afterPhase(AclSecuredPhase, ObjectIdentity, int, int, long, long)}. Asked once per write.
+     *
+     * @return
+     */
+    default boolean isPhaseTimingEnabled() {
+        return false;
+    }
+
+    /**
+     * Invoked after each {@link AclSecuredPhase} of a write while phase timing is enabled by any listener.
+     *
+     * @param phase
+     * @param oi the {@link ObjectIdentity} the phase applied to, or {@literal null} if it applied to several ACLs
+     * @param aclCount
+     * @param aceCount
+     * @param startNanos
+     * @param durationNanos
+     */
+    default void afterPhase(AclSecuredPhase phase, ObjectIdentity oi, int aclCount, int aceCount, long startNanos,
+                            long durationNanos) {
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+/**
+ * The ACL maintenance operations triggered by the lifecycle of an {@link com.jahnelgroup.springframework.security.acl.annotations.AclSecured}
+ * Object.
+ *
+ * @author Steven Zgaljic
+ */
+public enum AclSecuredOperation {
+    CREATE, UPDATE, DELETE
+}
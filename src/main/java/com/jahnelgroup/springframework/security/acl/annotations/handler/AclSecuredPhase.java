@@ -0,0 +1,43 @@
+package com.jahnelgroup.springframework.security.acl.annotations.handler;
+
+/**
+ * Phases of an ACL write by the {@link DefaultAclSecuredHandler}, reported to the
+ * {@link AclSecuredHandlerListener}'s which enable phase timing.
+ *
+ * @author Steven Zgaljic
+ */
+public enum AclSecuredPhase {
+
+    /**
+     * Resolving the object identity, parent and {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce}
+     * fields of an entity.
+     */
+    METADATA_LOOKUP,
+
+    /**
+     * Mapping the {@link com.jahnelgroup.springframework.security.acl.annotations.AclAce} values of an entity to its
+     * desired entries.
+     */
+    SID_MAPPING,
+
+    /**
+     * Reading or creating the ACLs of a write.
+     */
+    ACL_READ,
+
+    /**
+     * Linking the parent ACL of an entity.
+     */
+    PARENT_LINK,
+
+    /**
+     * Comparing the desired entries of an entity against its ACL.
+     */
+    ACE_DIFF,
+
+    /**
+     * Writing the changed ACLs to the store.
+     */
+    STORE_WRITE
+
+}
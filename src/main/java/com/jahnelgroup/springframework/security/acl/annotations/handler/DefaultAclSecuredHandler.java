@@ -2,16 +2,25 @@ package com.jahnelgroup.springframework.security.acl.annotations.handler;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.transaction.Transactional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.security.acls.domain.AccessControlEntryImpl;
 import org.springframework.security.acls.domain.DefaultPermissionFactory;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PermissionFactory;
@@ -21,9 +30,16 @@ import org.springframework.util.Assert;
 import com.jahnelgroup.springframework.security.acl.annotations.*;
 import com.jahnelgroup.springframework.security.acl.annotations.lookup.*;
 import com.jahnelgroup.springframework.security.acl.annotations.mapper.AclAceToSidMapper;
+import com.jahnelgroup.springframework.security.acl.annotations.mapper.AclSidPool;
+import com.jahnelgroup.springframework.security.acl.annotations.mapper.AclSidValueLoader;
 import com.jahnelgroup.springframework.security.acl.annotations.mapper.DefaultAclAceToSidMapper;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import com.jahnelgroup.springframework.security.acl.annotations.writer.AclEntryDelta;
+import com.jahnelgroup.springframework.security.acl.annotations.writer.AclEntryWriter;
+import com.jahnelgroup.springframework.security.acl.annotations.writer.DefaultAclEntryWriter;
 
 /**
  * Default ACL secured handler to create, update and delete ACLs.
@@ -37,12 +53,20 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
     private PermissionFactory permissionFactory = new DefaultPermissionFactory();
     private MutableAclService aclService;
 
-    private AclAceLookupStrategy aclAceLookupStrategy = new DefaultAclAceLookupStrategy();
-    private AclObjectIdLookupStrategy aclObjectIdLookupStrategy = new DefaultAclObjectIdLookupStrategy();
-    private AclParentLookupStrategy aclParentLookupStrategy = new DefaultAclParentLookupStrategy(aclObjectIdLookupStrategy);
-    private AclSidLookupStrategy aclSidLookupStrategy = new DefaultAclSidLookupStrategy();
-    private AclAceToSidMapper aclAceToSidMapper = new DefaultAclAceToSidMapper(aclSidLookupStrategy);
-    private AclPermissionLookStrategy aclPermissionLookStrategy = new DefaultAclPermissionStrategy(permissionFactory);
+    private AclSecuredMetadataRegistry aclSecuredMetadataRegistry = new AclSecuredMetadataRegistry();
+    private AclAceLookupStrategy aclAceLookupStrategy;
+    private AclObjectIdLookupStrategy aclObjectIdLookupStrategy;
+    private AclParentLookupStrategy aclParentLookupStrategy;
+    private AclSidLookupStrategy aclSidLookupStrategy;
+    private AclAceToSidMapper aclAceToSidMapper;
+    private AclSidPool aclSidPool = new AclSidPool();
+    private AclSidValueLoader aclSidValueLoader;
+    private AclPermissionLookStrategy aclPermissionLookStrategy;
+    private AclEntryWriter aclEntryWriter;
+    private AclReconciliationMode reconciliationMode = AclReconciliationMode.DELTA;
+    private AclFingerprintCache aclFingerprintCache = new AclFingerprintCache();
+    private boolean skipUnchangedUpdates = false;
+    private final List<AclSecuredHandlerListener> listeners = new CopyOnWriteArrayList<>();
 
     public DefaultAclSecuredHandler(){
         logger.info("DefaultAclSecuredHandler loaded.");
@@ -69,6 +93,16 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
         this.permissionFactory = permissionFactory;
     }
 
+    /**
+     * Sets the {@link AclSecuredMetadataRegistry} the default lookup strategies resolve their configuration from.
+     *
+     * @param aclSecuredMetadataRegistry
+     */
+    public void setAclSecuredMetadataRegistry(AclSecuredMetadataRegistry aclSecuredMetadataRegistry) {
+        Assert.notNull(aclSecuredMetadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.aclSecuredMetadataRegistry = aclSecuredMetadataRegistry;
+    }
+
     /**
      * Sets the {@link AclAceLookupStrategy} to use during ACL evaluation.
      *
@@ -119,6 +153,69 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
         this.aclAceToSidMapper = aclAceToSidMapper;
     }
 
+    /**
+     * Sets the {@link AclSidPool} the default {@link AclAceToSidMapper} interns {@link Sid}'s in.
+     *
+     * @param aclSidPool
+     */
+    public void setAclSidPool(AclSidPool aclSidPool) {
+        Assert.notNull(aclSidPool, "AclSidPool must not be null!");
+        this.aclSidPool = aclSidPool;
+    }
+
+    /**
+     * Sets the {@link AclSidValueLoader} the default {@link AclAceToSidMapper} reads the sids of collections which
+     * haven't been loaded yet with.
+     *
+     * @param aclSidValueLoader
+     */
+    public void setAclSidValueLoader(AclSidValueLoader aclSidValueLoader) {
+        this.aclSidValueLoader = aclSidValueLoader;
+    }
+
+    /**
+     * Registers an {@link AclSecuredHandlerListener} to notify about ACL maintenance.
+     *
+     * @param listener
+     */
+    public void addAclSecuredHandlerListener(AclSecuredHandlerListener listener) {
+        Assert.notNull(listener, "AclSecuredHandlerListener must not be null!");
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered {@link AclSecuredHandlerListener}.
+     *
+     * @param listener
+     */
+    public void removeAclSecuredHandlerListener(AclSecuredHandlerListener listener) {
+        listeners.remove(listener);
+    }
+
+    public MutableAclService getAclService() {
+        return aclService;
+    }
+
+    public AclEntryWriter getAclEntryWriter() {
+        return aclEntryWriter;
+    }
+
+    public AclReconciliationMode getReconciliationMode() {
+        return reconciliationMode;
+    }
+
+    public AclSecuredMetadataRegistry getAclSecuredMetadataRegistry() {
+        return aclSecuredMetadataRegistry;
+    }
+
+    public AclSidPool getAclSidPool() {
+        return aclSidPool;
+    }
+
+    public AclFingerprintCache getAclFingerprintCache() {
+        return aclFingerprintCache;
+    }
+
     /**
      * Sets the {@link AclPermissionLookStrategy} to use during ACL evaluation.
      *
@@ -130,7 +227,51 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
     }
 
     /**
-     * Validates that all dependencies are set.
+     * Sets the {@link AclEntryWriter} used to persist entry changes when reconciling in
+     * {@link AclReconciliationMode#DELTA} mode. Defaults to a {@link DefaultAclEntryWriter} using the
+     * configured {@link MutableAclService}.
+     *
+     * @param aclEntryWriter
+     */
+    public void setAclEntryWriter(AclEntryWriter aclEntryWriter) {
+        Assert.notNull(aclEntryWriter, "AclEntryWriter must not be null!");
+        this.aclEntryWriter = aclEntryWriter;
+    }
+
+    /**
+     * Sets the {@link AclReconciliationMode} used to reconcile the entries of an existing ACL.
+     *
+     * @param reconciliationMode
+     */
+    public void setReconciliationMode(AclReconciliationMode reconciliationMode) {
+        Assert.notNull(reconciliationMode, "AclReconciliationMode must not be null!");
+        this.reconciliationMode = reconciliationMode;
+    }
+
+    /**
+     * Sets the {@link AclFingerprintCache} used to remember the ACL relevant values last written per ACL.
+     *
+     * @param aclFingerprintCache
+     */
+    public void setAclFingerprintCache(AclFingerprintCache aclFingerprintCache) {
+        Assert.notNull(aclFingerprintCache, "AclFingerprintCache must not be null!");
+        this.aclFingerprintCache = aclFingerprintCache;
+    }
+
+    /**
+     * Sets whether updates are skipped when the ACL relevant values are unchanged since the last write of this
+     * handler, defaults to false. Only safe when this handler is the single writer of the ACLs, see
+     * {@link AclFingerprintCache}.
+     *
+     * @param skipUnchangedUpdates
+     */
+    public void setSkipUnchangedUpdates(boolean skipUnchangedUpdates) {
+        this.skipUnchangedUpdates = skipUnchangedUpdates;
+    }
+
+    /**
+     * Validates that all dependencies are set and defaults the lookup strategies which weren't set to ones backed
+     * by the {@link AclSecuredMetadataRegistry}.
      */
     public void afterPropertiesSet() {
         if (aclService == null )
@@ -138,17 +279,27 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
         if (permissionFactory == null )
             throw new AclRuntimeException("No PermissionFactory set! Please review your configuration.");
         if (aclAceLookupStrategy == null )
-            throw new AclRuntimeException("No AclAceLookupStrategy set! Please review your configuration.");
+            aclAceLookupStrategy = new DefaultAclAceLookupStrategy(aclSecuredMetadataRegistry);
         if (aclObjectIdLookupStrategy == null )
-            throw new AclRuntimeException("No AclObjectIdLookupStrategy set! Please review your configuration.");
+            aclObjectIdLookupStrategy = new DefaultAclObjectIdLookupStrategy(aclSecuredMetadataRegistry);
         if (aclParentLookupStrategy == null )
-            throw new AclRuntimeException("No AclParentLookupStrategy set! Please review your configuration.");
+            aclParentLookupStrategy = new DefaultAclParentLookupStrategy(aclSecuredMetadataRegistry);
         if (aclSidLookupStrategy == null )
-            throw new AclRuntimeException("No AclSidLookupStrategy set! Please review your configuration.");
-        if (aclAceToSidMapper == null )
-            throw new AclRuntimeException("No AclAceToSidMapper set! Please review your configuration.");
+            aclSidLookupStrategy = new DefaultAclSidLookupStrategy(aclSecuredMetadataRegistry);
+        if (aclAceToSidMapper == null ){
+            DefaultAclAceToSidMapper mapper = new DefaultAclAceToSidMapper(aclSidLookupStrategy,
+                    aclSecuredMetadataRegistry);
+            mapper.setAclSidPool(aclSidPool);
+            mapper.setAclSidValueLoader(aclSidValueLoader);
+            aclAceToSidMapper = mapper;
+        }
         if (aclPermissionLookStrategy == null )
-            throw new AclRuntimeException("No AclPermissionLookStrategy set! Please review your configuration.");
+            aclPermissionLookStrategy = new DefaultAclPermissionStrategy(permissionFactory);
+        aclSecuredMetadataRegistry.setAclPermissionLookStrategy(aclPermissionLookStrategy);
+        if (aclFingerprintCache == null )
+            throw new AclRuntimeException("No AclFingerprintCache set! Please review your configuration.");
+        if (aclEntryWriter == null )
+            aclEntryWriter = new DefaultAclEntryWriter(aclService);
     }
 
     /**
@@ -158,17 +309,39 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
      */
     @Override
     public void createAcl(Object saved) {
-        saveAcl(saved);
+        saveAcls(Collections.singletonList(saved), true, false);
     }
 
     /**
-     * Updates an existing ACL for the saved Object.
+     * Updates an existing ACL for the saved Object. If enabled the update is skipped when the fingerprint of the
+     * ACL relevant values is unchanged since the last write.
      *
      * @param saved
      */
     @Override
     public void updateAcl(Object saved) {
-        saveAcl(saved);
+        saveAcls(Collections.singletonList(saved), false, skipUnchangedUpdates);
+    }
+
+    /**
+     * Creates new ACLs for the saved Objects.
+     *
+     * @param saved
+     */
+    @Override
+    public void createAcls(Collection<?> saved) {
+        saveAcls(saved, true, false);
+    }
+
+    /**
+     * Updates existing ACLs for the saved Objects. If enabled the Objects whose fingerprint of the ACL relevant
+     * values is unchanged since the last write are skipped.
+     *
+     * @param saved
+     */
+    @Override
+    public void updateAcls(Collection<?> saved) {
+        saveAcls(saved, false, skipUnchangedUpdates);
     }
 
     /**
@@ -178,38 +351,185 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
      */
     @Transactional
     public void saveAcl(Object saved)  {
+        saveAcls(Collections.singletonList(saved), false, false);
+    }
+
+    /**
+     * Creates new ACLs or updates existing ACLs for the saved Objects. Existing ACLs are read with a single
+     * {@link MutableAclService#readAclsById(List)}, parents are linked by reference without being read and all
+     * entry changes are handed to the {@link AclEntryWriter} as one batch.
+     *
+     * @param saved
+     * @param created true if the Objects are expected to be new
+     * @param skipUnchanged true if Objects with an unchanged fingerprint should be skipped
+     */
+    private void saveAcls(Collection<?> saved, boolean created, boolean skipUnchanged)  {
+        if( listeners.isEmpty() ){
+            doSaveAcls(saved, created, skipUnchanged);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try{
+            doSaveAcls(saved, created, skipUnchanged);
+            success = true;
+        }finally{
+            long duration = System.nanoTime() - start;
+            String entityType = getEntityType(saved);
+            for(AclSecuredHandlerListener listener : listeners)
+                listener.afterWrite(created ? AclSecuredOperation.CREATE : AclSecuredOperation.UPDATE,
+                        entityType, saved.size(), duration, success);
+        }
+    }
+
+    private void doSaveAcls(Collection<?> saved, boolean created, boolean skipUnchanged)  {
+        boolean timed = isPhaseTimingEnabled();
         try{
-            MutableAcl acl = getAcl(saved);
-            deleteAllAclEntries(acl);
-            setAclParentIfExists(acl, saved);
-            insertAclEntries(acl, saved);
-            aclService.updateAcl(acl);
+            Map<ObjectIdentity, AclState> states = new LinkedHashMap<>();
+            for(Object object : saved){
+                AclState state = getAclState(object, timed);
+                if( skipUnchanged && aclFingerprintCache.matches(state.oi, state.fingerprint) )
+                    continue;
+                states.put(state.oi, state);
+            }
+
+            if( states.isEmpty() )
+                return;
+
+            ObjectIdentity single = states.size() == 1 ? states.keySet().iterator().next() : null;
+            long start = timed ? System.nanoTime() : 0;
+            Map<ObjectIdentity, MutableAcl> acls = getAcls(states.keySet(), created);
+            if( timed )
+                afterPhase(AclSecuredPhase.ACL_READ, single, states.size(), 0, start);
+
+            verifyParentsExist(states, acls);
+
+            List<Tuple<MutableAcl, AclEntryDelta>> deltas = new ArrayList<>(states.size());
+            int changes = 0;
+            for(AclState state : states.values()){
+                MutableAcl acl = acls.get(state.oi);
+                if( reconciliationMode == AclReconciliationMode.REPLACE ){
+                    start = timed ? System.nanoTime() : 0;
+                    int deleted = acl.getEntries().size();
+                    deleteAllAclEntries(acl);
+                    if( timed ){
+                        afterPhase(AclSecuredPhase.ACE_DIFF, state.oi, 1, deleted, start);
+                        start = System.nanoTime();
+                    }
+                    setAclParentIfExists(acl, state.parent);
+                    if( timed ){
+                        afterPhase(AclSecuredPhase.PARENT_LINK, state.oi, 1, 0, start);
+                        start = System.nanoTime();
+                    }
+                    insertAclEntries(acl, state.desired);
+                    aclService.updateAcl(acl);
+                    if( timed )
+                        afterPhase(AclSecuredPhase.STORE_WRITE, state.oi, 1, deleted + state.desired.size(), start);
+                    for(AclSecuredHandlerListener listener : listeners)
+                        listener.afterEntriesWritten(state.oi, state.desired.size(), deleted);
+                }else{
+                    start = timed ? System.nanoTime() : 0;
+                    boolean parentChanged = setAclParentIfExists(acl, state.parent);
+                    if( timed ){
+                        afterPhase(AclSecuredPhase.PARENT_LINK, state.oi, 1, 0, start);
+                        start = System.nanoTime();
+                    }
+                    AclEntryDelta delta = diffAclEntries(acl, state.desired, parentChanged);
+                    if( timed )
+                        afterPhase(AclSecuredPhase.ACE_DIFF, state.oi, 1, state.desired.size(), start);
+                    deltas.add(new Tuple<>(acl, delta));
+                    changes += delta.getAdded().size() + delta.getRemoved().size();
+                }
+            }
+
+            if( !deltas.isEmpty() ){
+                start = timed ? System.nanoTime() : 0;
+                aclEntryWriter.write(deltas);
+                if( timed )
+                    afterPhase(AclSecuredPhase.STORE_WRITE, single, deltas.size(), changes, start);
+
+                // only reported once the batch is actually written
+                for(Tuple<MutableAcl, AclEntryDelta> delta : deltas){
+                    for(AclSecuredHandlerListener listener : listeners)
+                        listener.afterEntriesWritten(delta.first.getObjectIdentity(),
+                                delta.second.getAdded().size(), delta.second.getRemoved().size());
+                }
+            }
+
+            for(AclState state : states.values())
+                aclFingerprintCache.put(state.oi, state.fingerprint);
         }catch(Exception e){
             throw new AclRuntimeException(e.getMessage(), e);
         }
     }
 
     /**
-     * Returns a reference to the ACL for the provided Object. If no ACL is found then a new empty ACL will
-     * be created and returned.
+     * Collects the {@link ObjectIdentity}, parent, desired entries and fingerprint for the provided Object.
+     *
+     * @param object
+     * @return
+     */
+    private AclState getAclState(Object object, boolean timed) {
+        long start = timed ? System.nanoTime() : 0;
+        ObjectIdentity oi = getObjectIdentity(object);
+        Tuple<ObjectIdentity, AclParent> parent = getParentObjectIdentity(object);
+        List<Tuple<Field, AclAce>> aces = getAces(object);
+        if( timed ){
+            afterPhase(AclSecuredPhase.METADATA_LOOKUP, oi, 1, aces.size(), start);
+            start = System.nanoTime();
+        }
+
+        AclEntrySet desired = getDesiredAclEntries(object, aces);
+        if( timed )
+            afterPhase(AclSecuredPhase.SID_MAPPING, oi, 1, desired.size(), start);
+        return new AclState(oi, parent, desired, fingerprint(parent, desired));
+    }
+
+    /**
+     * Returns true if any {@link AclSecuredHandlerListener} wants the phases of the next write to be timed.
+     *
+     * @return
+     */
+    private boolean isPhaseTimingEnabled() {
+        for(AclSecuredHandlerListener listener : listeners){
+            if( listener.isPhaseTimingEnabled() )
+                return true;
+        }
+        return false;
+    }
+
+    private void afterPhase(AclSecuredPhase phase, ObjectIdentity oi, int aclCount, int aceCount, long start) {
+        long duration = System.nanoTime() - start;
+        for(AclSecuredHandlerListener listener : listeners)
+            listener.afterPhase(phase, oi, aclCount, aceCount, start, duration);
+    }
+
+    /**
+     * Returns the {@link ObjectIdentity} for the provided Object.
      *
      * The provided Object must satisfy these conditions:
      *
      * 1. The Object's class must be annotated with {@link AclSecured}
      * 2. The Object must have a single Serializable field annotated with {@link AclObjectId} somewhere in it's hierarchy.
-     * 2. The Object must have a single Serializable field annotated with {@link AclSid} somewhere in it's hierarchy.
-     * 3.
      *
      * @param object
      * @return
-     * @throws IllegalAccessException
      */
-    private MutableAcl getAcl(Object object) throws IllegalAccessException {
-        Triple<Object, Field, AclObjectId> objectId = aclObjectIdLookupStrategy.lookup(object);
-
-        ObjectIdentityImpl oi = new ObjectIdentityImpl(object.getClass(),
-                (Serializable) objectId.second.get(objectId.first));
+    @Override
+    public ObjectIdentity getObjectIdentity(Object object) {
+        return new ObjectIdentityImpl(object.getClass(),
+                (Serializable) aclObjectIdLookupStrategy.lookupAccessor(object).get(object));
+    }
 
+    /**
+     * Returns a reference to the ACL for the provided {@link ObjectIdentity}. If no ACL is found then a new empty
+     * ACL will be created and returned.
+     *
+     * @param oi
+     * @return
+     */
+    private MutableAcl getAcl(ObjectIdentity oi) {
         MutableAcl acl;
         try{
             acl = (MutableAcl) aclService.readAclById(oi);
@@ -220,6 +540,47 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
         return acl;
     }
 
+    /**
+     * Returns references to the ACLs for the provided {@link ObjectIdentity}'s. Expected new ACLs are created
+     * directly, otherwise all ACLs are read in a single call and any that are missing are created.
+     *
+     * @param ois
+     * @param created true if the ACLs are expected to not exist yet
+     * @return
+     */
+    private Map<ObjectIdentity, MutableAcl> getAcls(Collection<ObjectIdentity> ois, boolean created) {
+        Map<ObjectIdentity, MutableAcl> acls = new HashMap<>();
+
+        if( created ){
+            Map<ObjectIdentity, MutableAcl> batch = aclEntryWriter.createAcls(new ArrayList<>(ois));
+            if( batch != null )
+                return batch;
+
+            for(ObjectIdentity oi : ois){
+                try{
+                    acls.put(oi, aclService.createAcl(oi));
+                }catch(AlreadyExistsException aee){
+                    acls.put(oi, (MutableAcl) aclService.readAclById(oi));
+                }
+            }
+            return acls;
+        }
+
+        Map<ObjectIdentity, Acl> found;
+        try{
+            found = aclService.readAclsById(new ArrayList<>(ois));
+        }catch(NotFoundException nfe){
+            found = Collections.emptyMap();
+        }
+
+        for(ObjectIdentity oi : ois){
+            Acl acl = found.get(oi);
+            acls.put(oi, acl != null ? (MutableAcl) acl : getAcl(oi));
+        }
+
+        return acls;
+    }
+
     /**
      * Removes all AccessControlEntry's for the provided ACL.
      *
@@ -231,66 +592,160 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
     }
 
     /**
-     * Inspects the provided Object for {@link AclParent} configurations and set the parent ACL if it exists.
+     * Inspects the provided Object for {@link AclParent} configurations and returns the {@link ObjectIdentity}
+     * of the parent if it exists. A proxied parent is identified by its {@link AclSecured} class.
      *
-     * @param acl
      * @param object
-     * @throws IllegalAccessException
+     * @return {@literal null} if there is no parent
      */
-    private void setAclParentIfExists(MutableAcl acl, Object object) throws IllegalAccessException {
+    private Tuple<ObjectIdentity, AclParent> getParentObjectIdentity(Object object) {
         Triple<Object, Field, AclParent> parentAcl = aclParentLookupStrategy.lookup(object);
-        if( parentAcl != null ){
-            ObjectIdentityImpl oi = new ObjectIdentityImpl(parentAcl.first.getClass(),
-                    (Serializable)parentAcl.second.get(parentAcl.first));
-            acl.setParent(aclService.readAclById(oi));
-            acl.setEntriesInheriting(parentAcl.third.inheriting());
+        if( parentAcl == null )
+            return null;
+
+        Object parentId = aclParentLookupStrategy.lookupAccessor(object, parentAcl).get(parentAcl.first);
+        Class<?> parentType = aclSecuredMetadataRegistry.getSecuredType(parentAcl.first.getClass());
+        return new Tuple<>(new ObjectIdentityImpl(parentType, (Serializable) parentId), parentAcl.third);
+    }
+
+    /**
+     * Verifies that the parents about to be linked have an ACL, since linking them by reference doesn't read them.
+     * Parents saved in the same batch exist by the time they are linked, the others are looked up with a single
+     * {@link AclEntryWriter#findExistingAcls(List)}. Reading them instead would build each parent along with its
+     * ancestors, so if the writer can't answer cheaply they aren't verified here and it's up to the
+     * {@link MutableAclService} to reject a missing parent when the ACL is updated.
+     *
+     * @param states
+     * @param acls
+     * @throws NotFoundException if a parent has no ACL
+     */
+    private void verifyParentsExist(Map<ObjectIdentity, AclState> states, Map<ObjectIdentity, MutableAcl> acls) {
+        Set<ObjectIdentity> parents = new LinkedHashSet<>();
+        for(AclState state : states.values()){
+            if( state.parent == null || states.containsKey(state.parent.first) )
+                continue;
+
+            Acl current = acls.get(state.oi).getParentAcl();
+            if( current == null || !state.parent.first.equals(current.getObjectIdentity()) )
+                parents.add(state.parent.first);
+        }
+
+        if( parents.isEmpty() )
+            return;
+
+        List<ObjectIdentity> ois = new ArrayList<>(parents);
+        Set<ObjectIdentity> existing = aclEntryWriter.findExistingAcls(ois);
+        if( existing == null )
+            return;
+
+        for(ObjectIdentity oi : ois){
+            if( !existing.contains(oi) )
+                throw new NotFoundException("Unable to find ACL information for parent object identity '" + oi + "'");
         }
     }
 
     /**
-     * Lookup {@link AclAce} configurations for the provided Object and insert entries into the
-     * ACL for each associated {@link AclSid}.
+     * Links the parent ACL if it exists. The parent is linked through an {@link AclReference} so it doesn't have to
+     * be read once {@link #verifyParentsExist(Map, Map)} found it, and nothing is changed if the ACL already refers to the same parent with the same entries
+     * inheriting flag.
      *
      * @param acl
+     * @param parent
+     * @return true if the parent ACL or the entries inheriting flag changed
+     */
+    private boolean setAclParentIfExists(MutableAcl acl, Tuple<ObjectIdentity, AclParent> parent) {
+        if( parent == null )
+            return false;
+
+        Acl current = acl.getParentAcl();
+        if( current != null && parent.first.equals(current.getObjectIdentity())
+                && acl.isEntriesInheriting() == parent.second.inheriting() )
+            return false;
+
+        acl.setParent(new AclReference(parent.first, aclService));
+        acl.setEntriesInheriting(parent.second.inheriting());
+        return true;
+    }
+
+    /**
+     * Collect the desired entries of the provided {@link AclAce} configurations for each associated
+     * {@link AclSid}, mapped to their granting flag. The first entry for a {@link Sid} and permission wins.
+     *
      * @param object
+     * @param aces
+     * @return
      */
-    private void insertAclEntries(MutableAcl acl, Object object) {
-        Map<Integer, Map<Integer, Boolean>> entries = new HashMap<>();
-        for(Tuple<Field, AclAce> ace : getAces(object)){
+    private AclEntrySet getDesiredAclEntries(Object object, List<Tuple<Field, AclAce>> aces) {
+        AclEntrySet desired = new AclEntrySet(aces.size() * 4);
+        for(Tuple<Field, AclAce> ace : aces){
+            List<Permission> permissions = getPermissions(ace, object);
             for(Sid sid : getSids(ace, object)){
-                for (String p : ace.second.permissions()) {
-                    Permission permission = getPermission(p);
-                    if(notDuplicatePermissionEntry(sid.hashCode(), permission.getMask(), entries))
-                        acl.insertAce(
-                            acl.getEntries().size(),
-                            getPermission(p),
-                            sid,
-                            ace.second.granting());
+                for (Permission permission : permissions) {
+                    desired.add(sid, permission, ace.second.granting());
                 }
             }
         }
+        return desired;
     }
 
     /**
-     * Return true if this sid/permission combination is NOT a duplicate based on the entries map provided.
+     * Compare the desired entries against the entries currently on the ACL. Entries are matched on their
+     * {@link Sid}, permission mask and granting flag.
      *
-     * @param sidHashcode
-     * @param permissionMask
-     * @param entries
+     * @param acl
+     * @param desired
+     * @param parentChanged
      * @return
      */
-    private boolean notDuplicatePermissionEntry(Integer sidHashcode, Integer permissionMask,
-            Map<Integer, Map<Integer, Boolean>> entries){
-        if(entries.containsKey(sidHashcode) ){
-            if(entries.get(sidHashcode).containsKey(permissionMask))
-                return false;
+    private AclEntryDelta diffAclEntries(MutableAcl acl, AclEntrySet desired, boolean parentChanged) {
+        boolean[] matched = new boolean[desired.size()];
+
+        List<AccessControlEntry> removed = new LinkedList<>();
+        for(AccessControlEntry existing : acl.getEntries()){
+            int index = desired.indexOf(existing.getSid(), existing.getPermission());
+            if( index >= 0 && !matched[index] && desired.isGranting(index) == existing.isGranting() )
+                matched[index] = true;
             else
-                entries.get(sidHashcode).put(permissionMask, true);
-        }else{
-            entries.put(sidHashcode, new HashMap<>());
-            entries.get(sidHashcode).put(permissionMask, true);
+                removed.add(existing);
+        }
+
+        List<AccessControlEntry> added = new LinkedList<>();
+        for(int i=0; i<desired.size(); i++){
+            if( !matched[i] ){
+                added.add(new AccessControlEntryImpl(null, acl, desired.getSid(i), desired.getPermission(i),
+                        desired.isGranting(i), false, false));
+            }
+        }
+
+        return new AclEntryDelta(removed, added, parentChanged);
+    }
+
+    /**
+     * Insert the desired entries into the ACL.
+     *
+     * @param acl
+     * @param desired
+     */
+    private void insertAclEntries(MutableAcl acl, AclEntrySet desired) {
+        for(int i=0; i<desired.size(); i++){
+            acl.insertAce(
+                acl.getEntries().size(),
+                desired.getPermission(i),
+                desired.getSid(i),
+                desired.isGranting(i));
         }
-        return true;
+    }
+
+    /**
+     * Returns the fingerprint of the ACL relevant values, being the parent and the desired entries.
+     *
+     * @param parent
+     * @param desired
+     * @return
+     */
+    private AclFingerprint fingerprint(Tuple<ObjectIdentity, AclParent> parent, AclEntrySet desired) {
+        return parent == null ? new AclFingerprint(null, false, desired)
+                : new AclFingerprint(parent.first, parent.second.inheriting(), desired);
     }
 
     /**
@@ -300,20 +755,85 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
      */
     @Override
     public void deleteAcl(Object deleted){
+        deleteAcls(Collections.singletonList(deleted));
+    }
+
+    /**
+     * Deletes the entire ACLs for the provided Objects.
+     *
+     * @param deleted
+     */
+    @Override
+    public void deleteAcls(Collection<?> deleted){
+        List<ObjectIdentity> ois = new ArrayList<>(deleted.size());
+        for(Object object : deleted)
+            ois.add(getObjectIdentity(object));
+        deleteAclsById(ois);
+    }
+
+    /**
+     * Deletes the entire ACLs stored under the provided {@link ObjectIdentity}'s along with their descendants. The
+     * {@link AclEntryWriter} may delete them as one batch, otherwise each ACL is deleted through the
+     * {@link MutableAclService}.
+     *
+     * @param ois
+     */
+    @Override
+    public void deleteAclsById(Collection<ObjectIdentity> ois){
+        long start = listeners.isEmpty() ? 0 : System.nanoTime();
+        boolean success = false;
         try {
-            Triple<Object, Field, AclObjectId> objectId = aclObjectIdLookupStrategy.lookup(deleted);
-
-            ObjectIdentityImpl oi = new ObjectIdentityImpl(deleted.getClass(),
-                    (Serializable) objectId.second.get(objectId.first));
-            try{
-                aclService.deleteAcl(oi, true);
-            }catch(ChildrenExistException nfe){
-                // nothing to do
+            for(ObjectIdentity oi : ois)
+                aclFingerprintCache.evict(oi);
+
+            int descendants = aclEntryWriter.deleteAcls(new ArrayList<>(ois));
+            if( descendants < 0 ){
+                descendants = 0;
+                for(ObjectIdentity oi : ois){
+                    List<ObjectIdentity> children = aclService.findChildren(oi);
+                    if( children != null )
+                        descendants += children.size();
+                    aclService.deleteAcl(oi, true);
+                }
             }
+            if( descendants > 0 ){
+                // the identities of the deleted descendants aren't known
+                aclFingerprintCache.clear();
+            }
+            success = true;
         } catch (Exception e) {
             throw new AclRuntimeException(e);
+        } finally {
+            if( !listeners.isEmpty() ){
+                long duration = System.nanoTime() - start;
+                String entityType = null;
+                for(ObjectIdentity oi : ois){
+                    if( entityType != null && !entityType.equals(oi.getType()) ){
+                        entityType = null;
+                        break;
+                    }
+                    entityType = oi.getType();
+                }
+                for(AclSecuredHandlerListener listener : listeners)
+                    listener.afterWrite(AclSecuredOperation.DELETE, entityType, ois.size(), duration, success);
+            }
         }
+    }
 
+    /**
+     * Returns the class name shared by the provided Objects, or {@literal null} if they are of different classes.
+     *
+     * @param objects
+     * @return
+     */
+    private String getEntityType(Collection<?> objects) {
+        Class<?> type = null;
+        for(Object object : objects){
+            if( type != null && type != object.getClass() )
+                return null;
+            type = object.getClass();
+        }
+        return type == null ? null : type.getName();
     }
 
     /**
@@ -349,13 +869,42 @@ public class DefaultAclSecuredHandler implements AclSecuredHandler, Initializing
     }
 
     /**
-     * Uses the configured {@link PermissionFactory} to lookup {@link Permission} based on the permission name.
+     * Returns the {@link Permission}'s of the {@link AclAce}, as resolved when the class metadata was built. An
+     * {@link AclAce} which isn't part of the class metadata is resolved by name.
      *
-     * @param perm
+     * @param ace
+     * @param saved
      * @return
      */
-    private Permission getPermission(String perm){
-        return permissionFactory.buildFromName(perm.toUpperCase());
+    protected List<Permission> getPermissions(Tuple<Field, AclAce> ace, Object saved) {
+        if( ace.first != null ){
+            AclAceMetadata metadata = aclSecuredMetadataRegistry.getMetadata(saved.getClass()).getAce(ace.first);
+            if( metadata != null )
+                return metadata.getPermissions();
+        }
+
+        List<Permission> permissions = new ArrayList<>(ace.second.permissions().length);
+        for(String name : ace.second.permissions())
+            permissions.add(aclPermissionLookStrategy.lookup(name));
+        return permissions;
+    }
+
+    /**
+     * The ACL relevant values of an Object.
+     */
+    private static final class AclState {
+        private final ObjectIdentity oi;
+        private final Tuple<ObjectIdentity, AclParent> parent;
+        private final AclEntrySet desired;
+        private final AclFingerprint fingerprint;
+
+        AclState(ObjectIdentity oi, Tuple<ObjectIdentity, AclParent> parent, AclEntrySet desired,
+                 AclFingerprint fingerprint) {
+            this.oi = oi;
+            this.parent = parent;
+            this.desired = desired;
+            this.fingerprint = fingerprint;
+        }
     }
 
 }
\ No newline at end of file
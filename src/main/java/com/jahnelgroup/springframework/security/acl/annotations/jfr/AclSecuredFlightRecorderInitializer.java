@@ -0,0 +1,45 @@
+package com.jahnelgroup.springframework.security.acl.annotations.jfr;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import jdk.jfr.FlightRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.util.Assert;
+
+/**
+ * Registers the ACL Flight Recorder events and binds an {@link AclSecuredFlightRecorderListener} to every
+ * {@link DefaultAclSecuredHandler} once all singletons are created. Only registered when the jdk.jfr API is
+ * present, and does nothing if the Flight Recorder isn't available in the running JVM.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredFlightRecorderInitializer implements SmartInitializingSingleton, BeanFactoryAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(AclSecuredFlightRecorderInitializer.class);
+
+    private ListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if( !FlightRecorder.isAvailable() )
+            return;
+
+        AclSecuredFlightRecorderListener.register();
+        AclSecuredFlightRecorderListener listener = new AclSecuredFlightRecorderListener();
+        for(DefaultAclSecuredHandler handler : beanFactory.getBeansOfType(DefaultAclSecuredHandler.class).values()){
+            handler.addAclSecuredHandlerListener(listener);
+            logger.debug("Bound ACL Flight Recorder events to {}.", handler);
+        }
+    }
+}
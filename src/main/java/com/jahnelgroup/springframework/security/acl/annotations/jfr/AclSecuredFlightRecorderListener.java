@@ -0,0 +1,69 @@
+package com.jahnelgroup.springframework.security.acl.annotations.jfr;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandlerListener;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredPhase;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+/**
+ * {@link AclSecuredHandlerListener} emitting the {@link AclSecuredPhaseEvent} and {@link AclSecuredWriteEvent}
+ * Flight Recorder events. Phase timing is only enabled while a recording with the phase event enabled is running,
+ * so the handler measures nothing otherwise.
+ *
+ * The handler is compiled for Java 8 and can't depend on the jdk.jfr API, which is why it times the phases itself
+ * and the events carry the measured time as elapsed field.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredFlightRecorderListener implements AclSecuredHandlerListener {
+
+    private static final EventType PHASE_EVENT_TYPE = EventType.getEventType(AclSecuredPhaseEvent.class);
+
+    /**
+     * Registers the events with the Flight Recorder so that they can be enabled before the first write.
+     */
+    public static void register() {
+        FlightRecorder.register(AclSecuredPhaseEvent.class);
+        FlightRecorder.register(AclSecuredWriteEvent.class);
+    }
+
+    @Override
+    public boolean isPhaseTimingEnabled() {
+        return PHASE_EVENT_TYPE.isEnabled();
+    }
+
+    @Override
+    public void afterPhase(AclSecuredPhase phase, ObjectIdentity oi, int aclCount, int aceCount, long startNanos,
+                           long durationNanos) {
+        AclSecuredPhaseEvent event = new AclSecuredPhaseEvent();
+        if( !event.isEnabled() )
+            return;
+
+        event.phase = phase.name();
+        if( oi != null ){
+            event.entityClass = oi.getType();
+            event.objectIdentity = String.valueOf(oi.getIdentifier());
+        }
+        event.aclCount = aclCount;
+        event.aceCount = aceCount;
+        event.elapsed = durationNanos;
+        event.commit();
+    }
+
+    @Override
+    public void afterWrite(AclSecuredOperation operation, String entityType, int count, long durationNanos,
+                           boolean success) {
+        AclSecuredWriteEvent event = new AclSecuredWriteEvent();
+        if( !event.isEnabled() )
+            return;
+
+        event.operation = operation.name();
+        event.entityClass = entityType;
+        event.aclCount = count;
+        event.success = success;
+        event.elapsed = durationNanos;
+        event.commit();
+    }
+}
@@ -0,0 +1,46 @@
+package com.jahnelgroup.springframework.security.acl.annotations.jfr;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredPhase;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a single {@link AclSecuredPhase} of an ACL write. The phase is timed by the handler and
+ * reported as elapsed time when it ends. Disabled unless enabled in the recording settings.
+ *
+ * @author Steven Zgaljic
+ */
+@Name("com.jahnelgroup.acl.Phase")
+@Label("ACL Phase")
+@Category("Spring Security ACL")
+@Description("Phase of the ACL maintenance of an @AclSecured entity")
+@Enabled(false)
+@StackTrace(false)
+class AclSecuredPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Entity Class")
+    String entityClass;
+
+    @Label("Object Identity")
+    String objectIdentity;
+
+    @Label("ACLs")
+    int aclCount;
+
+    @Label("ACEs")
+    int aceCount;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+}
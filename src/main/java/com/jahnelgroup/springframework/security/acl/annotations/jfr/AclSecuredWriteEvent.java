@@ -0,0 +1,42 @@
+package com.jahnelgroup.springframework.security.acl.annotations.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a create, update or delete of one or more ACLs. Disabled unless enabled in the
+ * recording settings.
+ *
+ * @author Steven Zgaljic
+ */
+@Name("com.jahnelgroup.acl.Write")
+@Label("ACL Write")
+@Category("Spring Security ACL")
+@Description("Create, update or delete of the ACLs of @AclSecured entities")
+@Enabled(false)
+@StackTrace(false)
+class AclSecuredWriteEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity Class")
+    String entityClass;
+
+    @Label("ACLs")
+    int aclCount;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+}
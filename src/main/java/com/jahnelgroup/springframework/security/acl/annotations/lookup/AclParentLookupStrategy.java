@@ -1,6 +1,8 @@
 package com.jahnelgroup.springframework.security.acl.annotations.lookup;
 
 import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessor;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessors;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
 
 import java.lang.reflect.Field;
@@ -21,4 +23,18 @@ public interface AclParentLookupStrategy {
      */
     Triple<Object, Field, AclParent> lookup(Object object);
 
+    /**
+     * Returns an {@link AclPropertyAccessor} reading the
+     * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} from the parent Object returned
+     * by {@link #lookup(Object)}. By default the field returned by {@link #lookup(Object)} is read through
+     * reflection.
+     *
+     * @param object the Object defining the {@link AclParent}
+     * @param parent the {@link Triple} returned by {@link #lookup(Object)} for the Object
+     * @return
+     */
+    default AclPropertyAccessor lookupAccessor(Object object, Triple<Object, Field, AclParent> parent) {
+        return AclPropertyAccessors.reflective(parent.second);
+    }
+
 }
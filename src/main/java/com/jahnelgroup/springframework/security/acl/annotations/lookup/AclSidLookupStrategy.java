@@ -2,6 +2,8 @@ package com.jahnelgroup.springframework.security.acl.annotations.lookup;
 
 import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
 import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessor;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessors;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
 
 import java.lang.reflect.Field;
@@ -22,4 +24,15 @@ public interface AclSidLookupStrategy {
      */
     Triple<Object, Field, AclSid> lookup(Object object);
 
+    /**
+     * Returns an {@link AclPropertyAccessor} reading the {@link AclSid} of Objects of the same class as the
+     * provided Object. By default the field returned by {@link #lookup(Object)} is read through reflection.
+     *
+     * @param object
+     * @return
+     */
+    default AclPropertyAccessor lookupAccessor(Object object) {
+        return AclPropertyAccessors.reflective(lookup(object).second);
+    }
+
 }
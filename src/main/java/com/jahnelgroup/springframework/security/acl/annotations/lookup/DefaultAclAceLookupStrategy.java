@@ -1,47 +1,43 @@
 package com.jahnelgroup.springframework.security.acl.annotations.lookup;
 
 import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
-import com.jahnelgroup.springframework.security.acl.annotations.util.ReflectionHelper;
-import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import org.springframework.util.Assert;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
- * Default implementation of {@link AclAceLookupStrategy}.
+ * Default implementation of {@link AclAceLookupStrategy} backed by the {@link AclSecuredMetadataRegistry}.
  *
  * @author Steven Zgaljic
  */
 public class DefaultAclAceLookupStrategy implements AclAceLookupStrategy{
 
-    protected Map<Class, List<Tuple<Field, AclAce>>> cache = new HashMap<>();
+    private final AclSecuredMetadataRegistry metadataRegistry;
 
-    @Override
-    public List<Tuple<Field, AclAce>> lookup(Object object) {
-        List<Tuple<Field, AclAce>> result = new LinkedList<>();
-
-        if( cache.containsKey(object.getClass()) ){
-            result = cache.get(object.getClass());
-        }else{
-            List<Triple<Object, Field, AclAce>> allAnnotatedFields = ReflectionHelper.findAllAnnotatedFields(object,
-                    AclAce.class);
+    public DefaultAclAceLookupStrategy() {
+        this(new AclSecuredMetadataRegistry());
+    }
 
-            List<Tuple<Field, AclAce>> aces = allAnnotatedFields == null ? new LinkedList<>()
-                    : allAnnotatedFields.stream().map(ace -> new Tuple<>(ace.second, ace.third)
-                ).collect(Collectors.toList());
+    public DefaultAclAceLookupStrategy(AclSecuredMetadataRegistry metadataRegistry) {
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.metadataRegistry = metadataRegistry;
+    }
 
-            synchronized (cache){
-                if(!cache.containsKey(object.getClass())){
-                    cache.put(object.getClass(), result = aces);
-                }
-            }
-        }
+    @Override
+    public List<Tuple<Field, AclAce>> lookup(Object object) {
+        List<AclAceMetadata> aces = metadataRegistry.getMetadata(object.getClass()).getAces();
+        if( aces.isEmpty() )
+            return Collections.emptyList();
 
+        List<Tuple<Field, AclAce>> result = new ArrayList<>(aces.size());
+        for(AclAceMetadata ace : aces)
+            result.add(new Tuple<>(ace.getField(), ace.getAclAce()));
         return result;
     }
 
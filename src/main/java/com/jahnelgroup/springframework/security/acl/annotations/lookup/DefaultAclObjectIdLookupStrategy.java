@@ -1,47 +1,41 @@
 package com.jahnelgroup.springframework.security.acl.annotations.lookup;
 
 import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
-import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
-import com.jahnelgroup.springframework.security.acl.annotations.util.ReflectionHelper;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessor;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredClassMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
-import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import org.springframework.util.Assert;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
- * Default implementation of {@link AclObjectIdLookupStrategy}.
+ * Default implementation of {@link AclObjectIdLookupStrategy} backed by the {@link AclSecuredMetadataRegistry}.
  *
  * @author Steven Zgaljic
  */
 public class DefaultAclObjectIdLookupStrategy implements AclObjectIdLookupStrategy {
 
-    protected Map<Class, Tuple<Field, AclObjectId>> cache = new HashMap<>();
+    private final AclSecuredMetadataRegistry metadataRegistry;
+
+    public DefaultAclObjectIdLookupStrategy() {
+        this(new AclSecuredMetadataRegistry());
+    }
+
+    public DefaultAclObjectIdLookupStrategy(AclSecuredMetadataRegistry metadataRegistry) {
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.metadataRegistry = metadataRegistry;
+    }
 
     @Override
     public Triple<Object, Field, AclObjectId> lookup(Object object) {
-        Tuple<Field, AclObjectId> result = null;
-
-        if( cache.containsKey(object.getClass()) ){
-            result = cache.get(object.getClass());
-        }else{
-            Triple<Object, Field, AclObjectId> found = ReflectionHelper.findAnnotatedField(object,
-                    AclObjectId.class, ReflectionHelper.IsSerializableConsumer());
-
-            if( found == null ){
-                throw new AclRuntimeException(String.format("Unable to find @AclObjectId for class %s",
-                    object.getClass().getCanonicalName()));
-            }
-
-            synchronized (cache){
-                if(!cache.containsKey(object.getClass())){
-                    cache.put(object.getClass(), result = new Tuple<>(found.second, found.third));
-                }
-            }
-        }
-
-        return new Triple<>(object, result.first, result.second);
+        AclSecuredClassMetadata metadata = metadataRegistry.getMetadata(object.getClass());
+        return new Triple<>(object, metadata.getObjectIdField(), metadata.getAclObjectId());
+    }
+
+    @Override
+    public AclPropertyAccessor lookupAccessor(Object object) {
+        return metadataRegistry.getMetadata(object.getClass()).getObjectIdAccessor();
     }
 
 }
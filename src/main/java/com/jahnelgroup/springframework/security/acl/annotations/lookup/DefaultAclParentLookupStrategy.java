@@ -1,55 +1,53 @@
 package com.jahnelgroup.springframework.security.acl.annotations.lookup;
 
-import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
 import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
-import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
-import com.jahnelgroup.springframework.security.acl.annotations.util.ReflectionHelper;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessor;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclParentMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
-import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.util.Assert;
 
-import java.io.Serializable;
 import java.lang.reflect.Field;
-import java.util.*;
 
 /**
- * Default implementation of {@link AclParentLookupStrategy}.
+ * Default implementation of {@link AclParentLookupStrategy} backed by the {@link AclSecuredMetadataRegistry}. The
+ * {@link AclParent} field and the parent's {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId}
+ * accessor are resolved once per class, as is the absence of a parent.
+ *
+ * The returned {@link Triple} refers to the parent Object and the field annotated with
+ * {@link com.jahnelgroup.springframework.security.acl.annotations.AclObjectId} on it.
  *
  * @author Steven Zgaljic
  */
 public class DefaultAclParentLookupStrategy implements AclParentLookupStrategy {
 
-    protected Map<Class, Field> cache = new HashMap<>();
+    private final AclSecuredMetadataRegistry metadataRegistry;
 
-    AclObjectIdLookupStrategy aclObjectIdLookupStrategy;
+    public DefaultAclParentLookupStrategy() {
+        this(new AclSecuredMetadataRegistry());
+    }
 
-    public DefaultAclParentLookupStrategy(AclObjectIdLookupStrategy aclObjectIdLookupStrategy) {
-        this.aclObjectIdLookupStrategy = aclObjectIdLookupStrategy;
+    public DefaultAclParentLookupStrategy(AclSecuredMetadataRegistry metadataRegistry) {
+        Assert.notNull(metadataRegistry, "AclSecuredMetadataRegistry must not be null!");
+        this.metadataRegistry = metadataRegistry;
     }
 
     @Override
     public Triple<Object, Field, AclParent> lookup(Object object) {
-        // Find the @AclParent field.
-        Triple<Object, Field, AclParent> parent = ReflectionHelper.findAnnotatedField(object, AclParent.class, (fieldObject, field) -> {
-            if (fieldObject.getClass().getAnnotation(AclSecured.class) == null) {
-                throw new RuntimeException(String.format("@Field %s for class %s is annotated as @AclParent " +
-                                "but the class is not annotated with @AclSecured.",
-                        field.getName(), object.getClass().getCanonicalName()));
-            }
-        });
+        AclParentMetadata metadata = metadataRegistry.getMetadata(object.getClass()).getParent();
+        if( metadata == null )
+            return null;
 
+        Object parent = metadata.getAccessor().get(object);
         if( parent == null )
             return null;
 
-        Triple<Object, Field, AclObjectId> objectId = aclObjectIdLookupStrategy.lookup(parent.first);
-        if( objectId == null ){
-            throw new RuntimeException(String.format("@Field %s for class %s is annotated as @AclParent " +
-                            "but the class %s does not define @AclObjectId.",
-                    parent.second.getName(), object.getClass().getCanonicalName(),
-                    parent.first.getClass().getCanonicalName()));
-        }
+        return new Triple<>(parent, metadata.getObjectIdField(), metadata.getAclParent());
+    }
 
-        return new Triple<>(objectId.first, objectId.second, parent.third);
+    @Override
+    public AclPropertyAccessor lookupAccessor(Object object, Triple<Object, Field, AclParent> parent) {
+        return metadataRegistry.getMetadata(object.getClass()).getParent().getObjectIdAccessor();
     }
 
 }
@@ -0,0 +1,149 @@
+package com.jahnelgroup.springframework.security.acl.annotations.mapper;
+
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent pool of interned {@link Sid} instances so that the same principal or authority maps to the
+ * same {@link Sid} instance on every save. Once a pool holds more than the maximum size the oldest entries are
+ * evicted first.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSidPool {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Pool principals;
+    private final Pool authorities;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AclSidPool() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of principals and of authorities held
+     */
+    public AclSidPool(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "Maximum size must be greater than zero!");
+        this.principals = new Pool(maximumSize, PrincipalSid::new);
+        this.authorities = new Pool(maximumSize,
+                authority -> new GrantedAuthoritySid(new SimpleGrantedAuthority(authority)));
+    }
+
+    /**
+     * Returns the interned {@link PrincipalSid} for the provided principal.
+     *
+     * @param principal
+     * @return
+     */
+    public Sid getPrincipalSid(String principal) {
+        return principals.get(principal);
+    }
+
+    /**
+     * Returns the interned {@link GrantedAuthoritySid} for the provided authority.
+     *
+     * @param authority
+     * @return
+     */
+    public Sid getGrantedAuthoritySid(String authority) {
+        return authorities.get(authority);
+    }
+
+    /**
+     * Returns the number of lookups answered from the pool.
+     *
+     * @return
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which created a new {@link Sid}.
+     *
+     * @return
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of {@link Sid}'s currently held.
+     *
+     * @return
+     */
+    public int size() {
+        return principals.size.get() + authorities.size.get();
+    }
+
+    /**
+     * Removes all {@link Sid}'s from the pool.
+     */
+    public void clear() {
+        principals.clear();
+        authorities.clear();
+    }
+
+    private class Pool {
+        private final int maximumSize;
+        private final Function<String, Sid> factory;
+        private final Map<String, Sid> sids = new ConcurrentHashMap<>();
+        private final Queue<String> order = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        Pool(int maximumSize, Function<String, Sid> factory) {
+            this.maximumSize = maximumSize;
+            this.factory = factory;
+        }
+
+        Sid get(String value) {
+            Sid sid = sids.get(value);
+            if( sid != null ){
+                hits.increment();
+                return sid;
+            }
+
+            misses.increment();
+            sid = factory.apply(value);
+            Sid existing = sids.putIfAbsent(value, sid);
+            if( existing != null )
+                return existing;
+
+            order.add(value);
+            if( size.incrementAndGet() > maximumSize )
+                evict();
+            return sid;
+        }
+
+        private void evict() {
+            while( size.get() > maximumSize ){
+                String eldest = order.poll();
+                if( eldest == null )
+                    return;
+                if( sids.remove(eldest) != null )
+                    size.decrementAndGet();
+            }
+        }
+
+        void clear() {
+            sids.clear();
+            order.clear();
+            size.set(0);
+        }
+    }
+}
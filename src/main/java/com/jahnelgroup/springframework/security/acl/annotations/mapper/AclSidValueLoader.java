@@ -0,0 +1,28 @@
+package com.jahnelgroup.springframework.security.acl.annotations.mapper;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Store specific loader of the {@link AclSid} values held by an {@link AclAce} collection which hasn't been loaded
+ * yet, so that the sids can be read without loading the collection and its elements.
+ *
+ * @author Steven Zgaljic
+ */
+public interface AclSidValueLoader {
+
+    /**
+     * Returns the {@link AclSid} values of the elements of the {@link AclAce} collection, or {@literal null} if the
+     * collection is already loaded or can't be loaded by this loader, in which case the collection is iterated.
+     *
+     * @param object
+     * @param ace
+     * @return
+     */
+    List<Serializable> load(Object object, AclAceMetadata ace);
+
+}
@@ -4,19 +4,16 @@ import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
 import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
 import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
 import com.jahnelgroup.springframework.security.acl.annotations.lookup.AclSidLookupStrategy;
-import com.jahnelgroup.springframework.security.acl.annotations.util.Triple;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclPropertyAccessor;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
 import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
-import org.springframework.core.ResolvableType;
-import org.springframework.security.acls.domain.GrantedAuthoritySid;
-import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.model.Sid;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.util.Assert;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link AclAceToSidMapper}.
@@ -26,9 +23,41 @@ import java.util.stream.Collectors;
 public class DefaultAclAceToSidMapper implements AclAceToSidMapper {
 
     private AclSidLookupStrategy aclSidLookupStrategy;
+    private AclSecuredMetadataRegistry metadataRegistry;
+    private AclSidPool aclSidPool = new AclSidPool();
+    private AclSidValueLoader aclSidValueLoader;
 
     public DefaultAclAceToSidMapper(AclSidLookupStrategy aclSidLookupStrategy){
+        this(aclSidLookupStrategy, new AclSecuredMetadataRegistry());
+    }
+
+    public DefaultAclAceToSidMapper(AclSidLookupStrategy aclSidLookupStrategy,
+                                    AclSecuredMetadataRegistry metadataRegistry){
         this.aclSidLookupStrategy = aclSidLookupStrategy;
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    /**
+     * Sets the {@link AclSidPool} the mapped {@link Sid}'s are interned in.
+     *
+     * @param aclSidPool
+     */
+    public void setAclSidPool(AclSidPool aclSidPool) {
+        Assert.notNull(aclSidPool, "AclSidPool must not be null!");
+        this.aclSidPool = aclSidPool;
+    }
+
+    public AclSidPool getAclSidPool() {
+        return aclSidPool;
+    }
+
+    /**
+     * Sets the {@link AclSidValueLoader} used to read the sids of collections which haven't been loaded yet.
+     *
+     * @param aclSidValueLoader
+     */
+    public void setAclSidValueLoader(AclSidValueLoader aclSidValueLoader) {
+        this.aclSidValueLoader = aclSidValueLoader;
     }
 
     /**
@@ -69,88 +98,87 @@ public class DefaultAclAceToSidMapper implements AclAceToSidMapper {
         }
     }
 
-    public Tuple<AclSid, List<Serializable>> mapToSerializable(Object object, Field field, AclAce aclAce) throws IllegalAccessException {
-        Object value = field.get(object);
-
-        // String, Character or Number are a possible sid values
-        if( value instanceof String || value instanceof Character || value instanceof Number ){
-
-            if( aclAce.sid() == null )
-                throw new AclRuntimeException(String.format("Unable to determine if sids are principal or granted authority " +
-                        "for field %s for class %s. AclAce fields on String, Character or Number must supply the sid " +
-                        "attribute.", field.getName(), object.getClass().getCanonicalName()));
-
-            return new Tuple<>(aclAce.sid(), Arrays.asList((Serializable) value));
+    public Tuple<AclSid, List<Serializable>> mapToSerializable(Object object, Field field, AclAce aclAce) {
+        AclAceMetadata ace = metadataRegistry.getMetadata(object.getClass()).getAce(field);
+        if( ace == null ){
+            throw new AclRuntimeException(String.format("Field %s for class %s is not annotated with @AclAce",
+                    field.getName(), object.getClass().getCanonicalName()));
         }
 
-        // Collection
-        else if (ResolvableType.forField(field).asCollection() != ResolvableType.NONE){
-            Collection collection = (Collection) value;
+        Object value = ace.getAccessor().get(object);
 
-            // nothing to map
-            if( collection.isEmpty() )
-                return new Tuple<>(null, new LinkedList<>());
+        switch (ace.getKind()){
+            // String, Character or Number are a possible sid values
+            case SCALAR:
+                if( value == null )
+                    return new Tuple<>(ace.getAclSid(), new LinkedList<>());
+                return new Tuple<>(ace.getAclSid(), Arrays.asList((Serializable) value));
 
-            Object o = collection.iterator().next();
-            Triple<Object, Field, AclSid> result = aclSidLookupStrategy.lookup(o);
+            case COLLECTION:
+                if( value != null && aclSidValueLoader != null && ace.getSid() != null ){
+                    List<Serializable> loaded = aclSidValueLoader.load(object, ace);
+                    if( loaded != null )
+                        return new Tuple<>(ace.getAclSid(), loaded);
+                }
 
-            if( result != null )
-                return new Tuple<>(result.third, mapToValues(result.second, collection.iterator()));
-        }
+                Collection<?> collection = (Collection<?>) value;
 
-        // Array
-        else if( ResolvableType.forField(field).isArray() ){
-            Object[] arr = (Object[]) object;
+                // nothing to map
+                if( collection == null || collection.isEmpty() )
+                    return new Tuple<>(null, new LinkedList<>());
 
-            // nothing to map
-            if( arr == null || arr.length == 0 )
-                return new Tuple<>(null, new LinkedList<>());
+                Tuple<AclPropertyAccessor, AclSid> collectionSid = getSid(ace, collection.iterator().next());
+                return new Tuple<>(collectionSid.second, mapToValues(collectionSid.first, collection));
 
-            Triple<Object, Field, AclSid> result = aclSidLookupStrategy.lookup(arr[0]);
+            case ARRAY:
+                Object[] arr = (Object[]) value;
 
-            if( result != null )
-                return new Tuple<>(result.third, mapToValues(result.second, arr));
-        }
+                // nothing to map
+                if( arr == null || arr.length == 0 )
+                    return new Tuple<>(null, new LinkedList<>());
 
-        // Single Class property
-        else{
-            Triple<Object, Field, AclSid> result = aclSidLookupStrategy.lookup(value);
+                Tuple<AclPropertyAccessor, AclSid> arraySid = getSid(ace, arr[0]);
+                return new Tuple<>(arraySid.second, mapToValues(arraySid.first, Arrays.asList(arr)));
 
-            if(result != null)
-                return new Tuple<>(result.third, Arrays.asList((Serializable) result.second.get(result.first)));
-        }
+            // Single Class property
+            default:
+                if( value == null )
+                    return new Tuple<>(null, new LinkedList<>());
 
-        throw new AclRuntimeException(String.format("Unable to find @AclSid for field %s on class %s",
-            field.getName(), object.getClass().getCanonicalName()));
+                Tuple<AclPropertyAccessor, AclSid> sid = getSid(ace, value);
+                return new Tuple<>(sid.second, Arrays.asList((Serializable) sid.first.get(value)));
+        }
     }
 
-    private List<Serializable> mapToValues(Field field, Object[] objects) {
-        return Arrays.stream(objects).map(obj -> {
-            try {
-                ReflectionUtils.makeAccessible(field);
-                return (Serializable)field.get(obj);
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        }).collect(Collectors.toList());
+    /**
+     * Returns the {@link AclSid} accessor resolved for the element type, or looks it up for the provided element if
+     * the element type couldn't be resolved from the field declaration.
+     *
+     * @param ace
+     * @param element
+     * @return
+     */
+    private Tuple<AclPropertyAccessor, AclSid> getSid(AclAceMetadata ace, Object element) {
+        if( ace.getSid() != null )
+            return new Tuple<>(ace.getSid().getAccessor(), ace.getSid().getAclSid());
+
+        return new Tuple<>(aclSidLookupStrategy.lookupAccessor(element),
+                aclSidLookupStrategy.lookup(element).third);
     }
 
-    private List<Serializable> mapToValues(Field field, Iterator iterator) {
-        List<Serializable> values = new LinkedList<>();
-        while(iterator.hasNext()){
-            try {
-                ReflectionUtils.makeAccessible(field);
-                values.add((Serializable)field.get(iterator.next()));
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        }
+    private List<Serializable> mapToValues(AclPropertyAccessor accessor, Collection<?> objects) {
+        List<Serializable> values = new ArrayList<>(objects.size());
+        for(Object object : objects)
+            values.add((Serializable) accessor.get(object));
         return values;
     }
 
     private List<Sid> mapToSids(boolean principal, List<Serializable> values){
-        return values.stream().map(v -> principal ? new PrincipalSid(v.toString()) :
-                new GrantedAuthoritySid(new SimpleGrantedAuthority((v.toString()))))
-                .collect(Collectors.toList());
+        List<Sid> sids = new ArrayList<>(values.size());
+        for(Serializable value : values){
+            sids.add(principal ? aclSidPool.getPrincipalSid(value.toString())
+                    : aclSidPool.getGrantedAuthoritySid(value.toString()));
+        }
+        return sids;
     }
 }
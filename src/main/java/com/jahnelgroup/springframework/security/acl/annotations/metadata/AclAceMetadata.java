@@ -0,0 +1,103 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+
+import org.springframework.security.acls.model.Permission;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Immutable, resolved configuration of a field annotated with {@link AclAce}.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclAceMetadata {
+
+    private final Field field;
+    private final AclAce aclAce;
+    private final AclFieldKind kind;
+    private final Class<?> elementType;
+    private final AclSidMetadata sid;
+    private final AclPropertyAccessor accessor;
+    private final List<Permission> permissions;
+
+    public AclAceMetadata(Field field, AclAce aclAce, List<Permission> permissions, AclFieldKind kind,
+                          Class<?> elementType, AclSidMetadata sid) {
+        this.field = field;
+        this.aclAce = aclAce;
+        this.permissions = permissions;
+        this.kind = kind;
+        this.elementType = elementType;
+        this.sid = sid;
+        this.accessor = AclPropertyAccessors.forField(field);
+    }
+
+    /**
+     * Returns the field annotated with {@link AclAce}.
+     *
+     * @return
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns the {@link AclPropertyAccessor} reading the field annotated with {@link AclAce}.
+     *
+     * @return
+     */
+    public AclPropertyAccessor getAccessor() {
+        return accessor;
+    }
+
+    public AclAce getAclAce() {
+        return aclAce;
+    }
+
+    /**
+     * Returns the resolved {@link Permission}'s of the {@link AclAce}, without duplicate masks.
+     *
+     * @return
+     */
+    public List<Permission> getPermissions() {
+        return permissions;
+    }
+
+    public AclFieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the type of the objects defining the {@link AclSid}, or {@literal null} for a
+     * {@link AclFieldKind#SCALAR} or when it can't be resolved from the declared generics.
+     *
+     * @return
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Returns the {@link AclSidMetadata} of the element type, or {@literal null} if there is no resolved element
+     * type.
+     *
+     * @return
+     */
+    public AclSidMetadata getSid() {
+        return sid;
+    }
+
+    /**
+     * Returns the {@link AclSid} of the element type, or the sid attribute of the {@link AclAce} for a
+     * {@link AclFieldKind#SCALAR}. Returns {@literal null} if there is no resolved element type.
+     *
+     * @return
+     */
+    public AclSid getAclSid() {
+        if( kind == AclFieldKind.SCALAR )
+            return aclAce.sid();
+        return sid == null ? null : sid.getAclSid();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+
+/**
+ * The kind of value held by a field annotated with {@link AclAce}.
+ *
+ * @author Steven Zgaljic
+ */
+public enum AclFieldKind {
+
+    /**
+     * A String, Character or Number which is the sid value itself.
+     */
+    SCALAR,
+
+    /**
+     * A {@link java.util.Collection} of objects defining an {@link AclSid}.
+     */
+    COLLECTION,
+
+    /**
+     * An Array of objects defining an {@link AclSid}.
+     */
+    ARRAY,
+
+    /**
+     * A single object defining an {@link AclSid}.
+     */
+    ENTITY
+
+}
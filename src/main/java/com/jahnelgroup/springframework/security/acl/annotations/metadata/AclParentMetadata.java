@@ -0,0 +1,80 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+
+import java.lang.reflect.Field;
+
+/**
+ * Immutable, resolved configuration of a field annotated with {@link AclParent}, together with the
+ * {@link AclObjectId} of the parent type.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclParentMetadata {
+
+    private final Field field;
+    private final AclParent aclParent;
+    private final AclPropertyAccessor accessor;
+    private final Class<?> parentType;
+    private final Field objectIdField;
+    private final AclPropertyAccessor objectIdAccessor;
+
+    public AclParentMetadata(Field field, AclParent aclParent, Class<?> parentType, Field objectIdField) {
+        this.field = field;
+        this.aclParent = aclParent;
+        this.accessor = AclPropertyAccessors.forField(field);
+        this.parentType = parentType;
+        this.objectIdField = objectIdField;
+        this.objectIdAccessor = AclPropertyAccessors.forField(objectIdField);
+    }
+
+    /**
+     * Returns the field annotated with {@link AclParent}.
+     *
+     * @return
+     */
+    public Field getField() {
+        return field;
+    }
+
+    public AclParent getAclParent() {
+        return aclParent;
+    }
+
+    /**
+     * Returns the {@link AclPropertyAccessor} reading the parent.
+     *
+     * @return
+     */
+    public AclPropertyAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * Returns the declared type of the parent.
+     *
+     * @return
+     */
+    public Class<?> getParentType() {
+        return parentType;
+    }
+
+    /**
+     * Returns the field annotated with {@link AclObjectId} on the parent type.
+     *
+     * @return
+     */
+    public Field getObjectIdField() {
+        return objectIdField;
+    }
+
+    /**
+     * Returns the {@link AclPropertyAccessor} reading the {@link AclObjectId} of the parent.
+     *
+     * @return
+     */
+    public AclPropertyAccessor getObjectIdAccessor() {
+        return objectIdAccessor;
+    }
+}
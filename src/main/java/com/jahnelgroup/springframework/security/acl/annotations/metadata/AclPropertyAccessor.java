@@ -0,0 +1,19 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+/**
+ * Pre-bound accessor reading a single property of an Object.
+ *
+ * @author Steven Zgaljic
+ */
+@FunctionalInterface
+public interface AclPropertyAccessor {
+
+    /**
+     * Returns the value of the property for the provided Object.
+     *
+     * @param target
+     * @return
+     */
+    Object get(Object target);
+
+}
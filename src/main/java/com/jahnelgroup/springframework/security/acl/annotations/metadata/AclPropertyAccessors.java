@@ -0,0 +1,143 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates {@link AclPropertyAccessor}'s for annotated fields.
+ *
+ * Accessors generated at build time through {@link AclSecuredAccessors} are preferred when present.
+ * If the declaring class has an accessor method for the field, being a JavaBean getter or a record style accessor
+ * named after the field, that method is used so that property access and proxies are honored. Public accessors on
+ * public classes are bound through {@link LambdaMetafactory} into a plain lambda the JIT can inline,
+ * everything else is bound to a {@link MethodHandle}.
+ *
+ * @author Steven Zgaljic
+ */
+public final class AclPropertyAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final AclSecuredAccessors NO_ACCESSORS = fieldName -> null;
+
+    private static final ClassValue<AclSecuredAccessors> generated = new ClassValue<AclSecuredAccessors>() {
+        @Override
+        protected AclSecuredAccessors computeValue(Class<?> type) {
+            return loadGenerated(type);
+        }
+    };
+
+    private AclPropertyAccessors() {
+    }
+
+    /**
+     * Returns an {@link AclPropertyAccessor} for the provided field.
+     *
+     * @param field
+     * @return
+     */
+    public static AclPropertyAccessor forField(Field field) {
+        AclPropertyAccessor generatedAccessor = generated.get(field.getDeclaringClass()).getAccessor(field.getName());
+        if( generatedAccessor != null )
+            return generatedAccessor;
+
+        Method accessor = findAccessor(field);
+        try{
+            if( accessor != null ){
+                AclPropertyAccessor lambda = bindLambda(accessor);
+                if( lambda != null )
+                    return lambda;
+
+                ReflectionUtils.makeAccessible(accessor);
+                return bind(MethodHandles.lookup().unreflect(accessor));
+            }
+
+            ReflectionUtils.makeAccessible(field);
+            return bind(MethodHandles.lookup().unreflectGetter(field));
+        }catch(IllegalAccessException e){
+            throw new AclRuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns an {@link AclPropertyAccessor} reading the provided field through reflection.
+     *
+     * @param field
+     * @return
+     */
+    public static AclPropertyAccessor reflective(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        return target -> ReflectionUtils.getField(field, target);
+    }
+
+    private static AclSecuredAccessors loadGenerated(Class<?> type) {
+        String name = type.getName();
+        String packageName = ClassUtils.getPackageName(type);
+        String generatedName = (packageName.isEmpty() ? "" : packageName + ".")
+                + name.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_')
+                + AclSecuredAccessors.SUFFIX;
+
+        ClassLoader classLoader = type.getClassLoader();
+        if( classLoader == null || !ClassUtils.isPresent(generatedName, classLoader) )
+            return NO_ACCESSORS;
+
+        try{
+            Class<?> generatedType = ClassUtils.forName(generatedName, classLoader);
+            return (AclSecuredAccessors) ReflectionUtils.accessibleConstructor(generatedType).newInstance();
+        }catch(ReflectiveOperationException e){
+            throw new AclRuntimeException(String.format("Unable to load %s", generatedName), e);
+        }
+    }
+
+    private static Method findAccessor(Field field) {
+        Class<?> type = field.getDeclaringClass();
+        String property = StringUtils.capitalize(field.getName());
+
+        for(String name : new String[]{ "get" + property, "is" + property, field.getName() }){
+            Method method = ReflectionUtils.findMethod(type, name);
+            if( method != null && !Modifier.isStatic(method.getModifiers())
+                    && method.getReturnType() == field.getType() )
+                return method;
+        }
+        return null;
+    }
+
+    private static AclPropertyAccessor bindLambda(Method method) {
+        Class<?> type = method.getDeclaringClass();
+        if( !Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(type.getModifiers())
+                || !ClassUtils.isVisible(type, AclPropertyAccessors.class.getClassLoader()) )
+            return null;
+
+        try{
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(AclPropertyAccessor.class), GETTER_TYPE, getter,
+                    MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()), type));
+            return (AclPropertyAccessor) site.getTarget().invokeExact();
+        }catch(Throwable t){
+            // fall back to a MethodHandle
+            return null;
+        }
+    }
+
+    private static AclPropertyAccessor bind(MethodHandle handle) {
+        MethodHandle getter = handle.asType(GETTER_TYPE);
+        return target -> {
+            try{
+                return getter.invokeExact(target);
+            }catch(RuntimeException | Error e){
+                throw e;
+            }catch(Throwable t){
+                throw new AclRuntimeException(t.getMessage(), t);
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+/**
+ * Accessors generated at build time by the {@code AclSecuredProcessor} of the
+ * spring-security-acl-annotation-processor artifact for the annotated fields of a class. The generated class is named after the class with {@link #SUFFIX} appended, nested classes
+ * have their enclosing class names joined by an underscore.
+ *
+ * @author Steven Zgaljic
+ */
+public interface AclSecuredAccessors {
+
+    String SUFFIX = "_AclSecuredAccessors";
+
+    /**
+     * Returns the {@link AclPropertyAccessor} for the field declared by the class, or {@literal null} if no
+     * accessor could be generated for it.
+     *
+     * @param fieldName
+     * @return
+     */
+    AclPropertyAccessor getAccessor(String fieldName);
+
+}
@@ -0,0 +1,103 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclParent;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable, resolved ACL configuration of a class annotated with {@link AclSecured}.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredClassMetadata {
+
+    private final Class<?> type;
+    private final Field objectIdField;
+    private final AclObjectId aclObjectId;
+    private final AclParentMetadata parent;
+    private final List<AclAceMetadata> aces;
+    private final AclPropertyAccessor objectIdAccessor;
+
+    public AclSecuredClassMetadata(Class<?> type, Field objectIdField, AclObjectId aclObjectId,
+                                   AclParentMetadata parent, List<AclAceMetadata> aces) {
+        this.type = type;
+        this.objectIdField = objectIdField;
+        this.aclObjectId = aclObjectId;
+        this.parent = parent;
+        this.aces = Collections.unmodifiableList(aces);
+        this.objectIdAccessor = AclPropertyAccessors.forField(objectIdField);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the field annotated with {@link AclObjectId}.
+     *
+     * @return
+     */
+    public Field getObjectIdField() {
+        return objectIdField;
+    }
+
+    /**
+     * Returns the {@link AclPropertyAccessor} reading the {@link AclObjectId}.
+     *
+     * @return
+     */
+    public AclPropertyAccessor getObjectIdAccessor() {
+        return objectIdAccessor;
+    }
+
+    public AclObjectId getAclObjectId() {
+        return aclObjectId;
+    }
+
+    /**
+     * Returns true if the class defines an {@link AclParent}.
+     *
+     * @return
+     */
+    public boolean hasParent() {
+        return parent != null;
+    }
+
+    /**
+     * Returns the {@link AclParentMetadata} or {@literal null} if the class doesn't define an {@link AclParent}.
+     *
+     * @return
+     */
+    public AclParentMetadata getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the fields annotated with {@link AclAce} in the order they were declared.
+     *
+     * @return
+     */
+    public List<AclAceMetadata> getAces() {
+        return aces;
+    }
+
+    /**
+     * Returns the {@link AclAceMetadata} for the provided field or {@literal null} if it isn't annotated with
+     * {@link AclAce}.
+     *
+     * @param field
+     * @return
+     */
+    public AclAceMetadata getAce(Field field) {
+        for(AclAceMetadata ace : aces){
+            if( ace.getField().equals(field) )
+                return ace;
+        }
+        return null;
+    }
+}
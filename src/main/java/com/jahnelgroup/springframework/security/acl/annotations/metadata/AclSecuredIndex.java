@@ -0,0 +1,57 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reads the index of {@link AclSecured} classes written at build time by the {@code AclSecuredProcessor} of the
+ * spring-security-acl-annotation-processor artifact. An incremental compilation only indexes the classes it
+ * compiled, so the index adds to the classes found at runtime rather than replacing them.
+ *
+ * @author Steven Zgaljic
+ */
+public final class AclSecuredIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/acl-secured.index";
+
+    private AclSecuredIndex() {
+    }
+
+    /**
+     * Returns the indexed classes, or an empty set if there is no index.
+     *
+     * @param classLoader
+     * @return
+     */
+    public static Set<Class<?>> load(ClassLoader classLoader) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        try{
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            while( urls.hasMoreElements() ){
+                try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        urls.nextElement().openStream(), StandardCharsets.UTF_8))){
+                    String line;
+                    while( (line = reader.readLine()) != null ){
+                        line = line.trim();
+                        // classes removed since the index was written are skipped
+                        if( !line.isEmpty() && !line.startsWith("#") && ClassUtils.isPresent(line, classLoader) )
+                            types.add(ClassUtils.forName(line, classLoader));
+                    }
+                }
+            }
+        }catch(IOException | ClassNotFoundException e){
+            throw new AclRuntimeException(String.format("Unable to read %s", INDEX_LOCATION), e);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,269 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.*;
+import com.jahnelgroup.springframework.security.acl.annotations.util.ReflectionHelper;
+import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.AclPermissionLookStrategy;
+import com.jahnelgroup.springframework.security.acl.annotations.lookup.DefaultAclPermissionStrategy;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Builds and holds one immutable {@link AclSecuredClassMetadata} per class. Classes are expected to be registered
+ * at startup so that misconfigurations are reported before the first save, classes which weren't registered are
+ * resolved on first use.
+ *
+ * The metadata is attached to the classes through {@link ClassValue}'s, reads are lock-free and the registry
+ * doesn't prevent classes or their class loaders from being unloaded.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredMetadataRegistry {
+
+    private final ClassValue<AclSecuredClassMetadata> metadata = new ClassValue<AclSecuredClassMetadata>() {
+        @Override
+        protected AclSecuredClassMetadata computeValue(Class<?> type) {
+            AclSecuredClassMetadata result = buildMetadata(type);
+            registeredTypes.put(type, Boolean.TRUE);
+            return result;
+        }
+    };
+
+    private final ClassValue<AclSidMetadata> sids = new ClassValue<AclSidMetadata>() {
+        @Override
+        protected AclSidMetadata computeValue(Class<?> type) {
+            return buildSidMetadata(type);
+        }
+    };
+
+    private final ClassValue<Class<?>> securedTypes = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            for(Class<?> current = type; current != null; current = current.getSuperclass()){
+                if( current.getAnnotation(AclSecured.class) != null )
+                    return current;
+            }
+            return type;
+        }
+    };
+
+    private AclPermissionLookStrategy aclPermissionLookStrategy =
+            new DefaultAclPermissionStrategy(new DefaultPermissionFactory());
+
+    private final Map<Class<?>, Boolean> registeredTypes = new ConcurrentReferenceHashMap<>(16,
+            ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+    /**
+     * Sets the {@link AclPermissionLookStrategy} used to resolve the permission names of {@link AclAce}'s. It must
+     * be set before any metadata is resolved.
+     *
+     * @param aclPermissionLookStrategy
+     */
+    public void setAclPermissionLookStrategy(AclPermissionLookStrategy aclPermissionLookStrategy) {
+        Assert.notNull(aclPermissionLookStrategy, "AclPermissionLookStrategy must not be null!");
+        this.aclPermissionLookStrategy = aclPermissionLookStrategy;
+    }
+
+    /**
+     * Returns the {@link AclSecuredClassMetadata} for the provided class, resolving it if necessary.
+     *
+     * @param type
+     * @return
+     * @throws AclRuntimeException if the class isn't configured correctly
+     */
+    public AclSecuredClassMetadata getMetadata(Class<?> type) {
+        return metadata.get(type);
+    }
+
+    /**
+     * Returns the {@link AclSidMetadata} for the provided class, resolving it if necessary.
+     *
+     * @param type
+     * @return
+     * @throws AclRuntimeException if the class doesn't define an {@link AclSid}
+     */
+    public AclSidMetadata getSid(Class<?> type) {
+        return sids.get(type);
+    }
+
+    /**
+     * Returns the closest class annotated with {@link AclSecured} in the hierarchy of the provided class, or the
+     * class itself if there is none. This resolves proxies, such as lazily loaded parents, to their entity class.
+     *
+     * @param type
+     * @return
+     */
+    public Class<?> getSecuredType(Class<?> type) {
+        return securedTypes.get(type);
+    }
+
+    /**
+     * Returns the classes resolved so far which haven't been unloaded.
+     *
+     * @return
+     */
+    public Set<Class<?>> getRegisteredTypes() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(registeredTypes.keySet()));
+    }
+
+    private AclSidMetadata buildSidMetadata(Class<?> type) {
+        Tuple<Field, AclSid> sid = findAnnotatedField(type, AclSid.class);
+        if( sid == null ){
+            throw new AclRuntimeException(String.format("Unable to find @AclSid for class %s",
+                    type.getCanonicalName()));
+        }
+        checkSerializable(type, sid.first);
+        return new AclSidMetadata(sid.first, sid.second);
+    }
+
+    private AclSecuredClassMetadata buildMetadata(Class<?> type) {
+        Tuple<Field, AclObjectId> objectId = findAnnotatedField(type, AclObjectId.class);
+        if( objectId == null ){
+            throw new AclRuntimeException(String.format("Unable to find @AclObjectId for class %s",
+                    type.getCanonicalName()));
+        }
+        checkSerializable(type, objectId.first);
+
+        Tuple<Field, AclParent> parent = findAnnotatedField(type, AclParent.class);
+
+        List<AclAceMetadata> aces = new ArrayList<>();
+        for(Field field : ReflectionHelper.getAllFields(new LinkedList<>(), type)){
+            AclAce aclAce = AnnotationUtils.getAnnotation(field, AclAce.class);
+            if( aclAce != null ){
+                ReflectionUtils.makeAccessible(field);
+                aces.add(buildAceMetadata(type, field, aclAce));
+            }
+        }
+
+        return new AclSecuredClassMetadata(type, objectId.first, objectId.second,
+                parent == null ? null : buildParentMetadata(type, parent.first, parent.second), aces);
+    }
+
+    private AclParentMetadata buildParentMetadata(Class<?> type, Field parentField, AclParent aclParent) {
+        Class<?> parentType = parentField.getType();
+        if( parentType.getAnnotation(AclSecured.class) == null ){
+            throw new AclRuntimeException(String.format("Field %s for class %s is annotated as @AclParent " +
+                    "but the class %s is not annotated with @AclSecured.", parentField.getName(),
+                    type.getCanonicalName(), parentType.getCanonicalName()));
+        }
+
+        Tuple<Field, AclObjectId> parentObjectId = findAnnotatedField(parentType, AclObjectId.class);
+        if( parentObjectId == null ){
+            throw new AclRuntimeException(String.format("Field %s for class %s is annotated as @AclParent " +
+                    "but the class %s does not define @AclObjectId.", parentField.getName(),
+                    type.getCanonicalName(), parentType.getCanonicalName()));
+        }
+        return new AclParentMetadata(parentField, aclParent, parentType, parentObjectId.first);
+    }
+
+    private AclAceMetadata buildAceMetadata(Class<?> type, Field field, AclAce aclAce) {
+        Class<?> fieldType = field.getType();
+        List<Permission> permissions = resolvePermissions(type, field, aclAce);
+
+        if( isScalar(fieldType) )
+            return new AclAceMetadata(field, aclAce, permissions, AclFieldKind.SCALAR, null, null);
+
+        AclFieldKind kind;
+        Class<?> elementType;
+        if( Collection.class.isAssignableFrom(fieldType) ){
+            kind = AclFieldKind.COLLECTION;
+            elementType = ResolvableType.forField(field).asCollection().resolveGeneric(0);
+        }else if( fieldType.isArray() ){
+            kind = AclFieldKind.ARRAY;
+            elementType = fieldType.getComponentType();
+        }else{
+            kind = AclFieldKind.ENTITY;
+            elementType = fieldType;
+        }
+
+        // resolved from the actual elements
+        if( elementType == null || elementType == Object.class )
+            return new AclAceMetadata(field, aclAce, permissions, kind, null, null);
+
+        if( isScalar(elementType) ){
+            throw new AclRuntimeException(String.format("Field %s for class %s is annotated as @AclAce but " +
+                    "holds %s values, only a single String, Character or Number can be used as sid value.",
+                    field.getName(), type.getCanonicalName(), elementType.getSimpleName()));
+        }
+
+        if( findAnnotatedField(elementType, AclSid.class) == null ){
+            throw new AclRuntimeException(String.format("Unable to find @AclSid on class %s for field %s on " +
+                    "class %s", elementType.getCanonicalName(), field.getName(), type.getCanonicalName()));
+        }
+
+        return new AclAceMetadata(field, aclAce, permissions, kind, elementType, getSid(elementType));
+    }
+
+    /**
+     * Resolves the permission names of the {@link AclAce} once, dropping names which resolve to a mask that was
+     * already resolved.
+     *
+     * @param type
+     * @param field
+     * @param aclAce
+     * @return
+     */
+    private List<Permission> resolvePermissions(Class<?> type, Field field, AclAce aclAce) {
+        List<Permission> permissions = new ArrayList<>(aclAce.permissions().length);
+        for(String name : aclAce.permissions()){
+            Permission permission;
+            try{
+                permission = aclPermissionLookStrategy.lookup(name);
+            }catch(RuntimeException e){
+                throw new AclRuntimeException(String.format("Unknown permission %s on field %s for class %s",
+                        name, field.getName(), type.getCanonicalName()), e);
+            }
+
+            if( permission == null ){
+                throw new AclRuntimeException(String.format("Unknown permission %s on field %s for class %s",
+                        name, field.getName(), type.getCanonicalName()));
+            }
+
+            boolean duplicate = false;
+            for(Permission existing : permissions)
+                duplicate |= existing.getMask() == permission.getMask();
+            if( !duplicate )
+                permissions.add(permission);
+        }
+        return Collections.unmodifiableList(permissions);
+    }
+
+    private static boolean isScalar(Class<?> type) {
+        Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+        return String.class == wrapper || Character.class == wrapper || Number.class.isAssignableFrom(wrapper);
+    }
+
+    private static void checkSerializable(Class<?> type, Field field) {
+        Class<?> fieldType = field.getType();
+        if( fieldType.isPrimitive() || fieldType.isInterface() || fieldType == Object.class )
+            return;
+
+        if( !Serializable.class.isAssignableFrom(fieldType) ){
+            throw new AclRuntimeException(String.format("Field %s for class %s must be Serializable",
+                    field.getName(), type.getCanonicalName()));
+        }
+    }
+
+    private static <T extends Annotation> Tuple<Field, T> findAnnotatedField(Class<?> type,
+            Class<T> annotationClass) {
+        for(Field field : ReflectionHelper.getAllFields(new LinkedList<>(), type)){
+            T annotation = AnnotationUtils.getAnnotation(field, annotationClass);
+            if( annotation != null ){
+                ReflectionUtils.makeAccessible(field);
+                return new Tuple<>(field, annotation);
+            }
+        }
+        return null;
+    }
+}
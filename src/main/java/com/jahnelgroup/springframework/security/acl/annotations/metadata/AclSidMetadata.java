@@ -0,0 +1,45 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metadata;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+
+import java.lang.reflect.Field;
+
+/**
+ * Immutable, resolved configuration of a field annotated with {@link AclSid}.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSidMetadata {
+
+    private final Field field;
+    private final AclSid aclSid;
+    private final AclPropertyAccessor accessor;
+
+    public AclSidMetadata(Field field, AclSid aclSid) {
+        this.field = field;
+        this.aclSid = aclSid;
+        this.accessor = AclPropertyAccessors.forField(field);
+    }
+
+    /**
+     * Returns the field annotated with {@link AclSid}.
+     *
+     * @return
+     */
+    public Field getField() {
+        return field;
+    }
+
+    public AclSid getAclSid() {
+        return aclSid;
+    }
+
+    /**
+     * Returns the {@link AclPropertyAccessor} reading the {@link AclSid}.
+     *
+     * @return
+     */
+    public AclPropertyAccessor getAccessor() {
+        return accessor;
+    }
+}
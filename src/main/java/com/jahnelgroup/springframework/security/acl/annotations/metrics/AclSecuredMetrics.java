@@ -0,0 +1,122 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metrics;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclFingerprintCache;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandlerListener;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.mapper.AclSidPool;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.util.Assert;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AclSecuredHandlerListener} recording the ACL maintenance of a {@link DefaultAclSecuredHandler} with
+ * Micrometer:
+ *
+ * <ul>
+ *     <li>acl.secured.writes, timer per operation, entity and outcome</li>
+ *     <li>acl.secured.entries.inserted and acl.secured.entries.deleted, distribution summaries per entity</li>
+ *     <li>acl.secured.metadata.types, acl.secured.sid.pool.* and acl.secured.fingerprint.cache.*, gauges and
+ *     counters for the caches of the handler</li>
+ * </ul>
+ *
+ * Meters are resolved once per tag combination.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredMetrics implements AclSecuredHandlerListener {
+
+    private static final String MIXED = "mixed";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> inserted = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> deleted = new ConcurrentHashMap<>();
+
+    public AclSecuredMetrics(MeterRegistry registry) {
+        Assert.notNull(registry, "MeterRegistry must not be null!");
+        this.registry = registry;
+    }
+
+    /**
+     * Registers this as listener of the handler along with gauges for its caches.
+     *
+     * @param handler
+     */
+    public void bindTo(DefaultAclSecuredHandler handler) {
+        AclSecuredMetadataRegistry metadataRegistry = handler.getAclSecuredMetadataRegistry();
+        Gauge.builder("acl.secured.metadata.types", metadataRegistry, r -> r.getRegisteredTypes().size())
+                .description("Number of @AclSecured classes resolved by the metadata registry")
+                .register(registry);
+
+        AclSidPool pool = handler.getAclSidPool();
+        Gauge.builder("acl.secured.sid.pool.size", pool, AclSidPool::size)
+                .description("Number of pooled sids")
+                .register(registry);
+        FunctionCounter.builder("acl.secured.sid.pool.requests", pool, AclSidPool::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("acl.secured.sid.pool.requests", pool, AclSidPool::getMissCount)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("acl.secured.sid.pool.hit.ratio", pool, p -> ratio(p.getHitCount(), p.getMissCount()))
+                .register(registry);
+
+        AclFingerprintCache cache = handler.getAclFingerprintCache();
+        Gauge.builder("acl.secured.fingerprint.cache.size", cache, AclFingerprintCache::size)
+                .description("Number of fingerprints of written ACLs")
+                .register(registry);
+        FunctionCounter.builder("acl.secured.fingerprint.cache.requests", cache, AclFingerprintCache::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("acl.secured.fingerprint.cache.requests", cache, AclFingerprintCache::getMissCount)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("acl.secured.fingerprint.cache.hit.ratio", cache,
+                c -> ratio(c.getHitCount(), c.getMissCount()))
+                .register(registry);
+
+        handler.addAclSecuredHandlerListener(this);
+    }
+
+    @Override
+    public void afterWrite(AclSecuredOperation operation, String entityType, int count, long durationNanos,
+                           boolean success) {
+        String entity = entityType == null ? MIXED : entityType;
+        String outcome = success ? "success" : "error";
+        timers.computeIfAbsent(operation.name() + ':' + entity + ':' + outcome, k ->
+                Timer.builder("acl.secured.writes")
+                        .description("Time spent maintaining ACLs")
+                        .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                        .tag("entity", entity)
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void afterEntriesWritten(ObjectIdentity oi, int insertedCount, int deletedCount) {
+        inserted.computeIfAbsent(oi.getType(), entity -> summary("acl.secured.entries.inserted", entity))
+                .record(insertedCount);
+        deleted.computeIfAbsent(oi.getType(), entity -> summary("acl.secured.entries.deleted", entity))
+                .record(deletedCount);
+    }
+
+    private DistributionSummary summary(String name, String entity) {
+        return DistributionSummary.builder(name)
+                .baseUnit("entries")
+                .tag("entity", entity)
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,44 @@
+package com.jahnelgroup.springframework.security.acl.annotations.metrics;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.DefaultAclSecuredHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.util.Assert;
+
+/**
+ * Binds {@link AclSecuredMetrics} to every {@link DefaultAclSecuredHandler} once all singletons are created, if a
+ * single or primary {@link MeterRegistry} bean exists. Only registered when Micrometer is on the classpath.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclSecuredMetricsInitializer implements SmartInitializingSingleton, BeanFactoryAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(AclSecuredMetricsInitializer.class);
+
+    private ListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfUnique();
+        if( registry == null )
+            return;
+
+        AclSecuredMetrics metrics = new AclSecuredMetrics(registry);
+        for(DefaultAclSecuredHandler handler : beanFactory.getBeansOfType(DefaultAclSecuredHandler.class).values()){
+            metrics.bindTo(handler);
+            logger.debug("Bound ACL metrics to {}.", handler);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jahnelgroup.springframework.security.acl.annotations.outbox;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+/**
+ * Represents a recorded intent to recompute or delete the ACL of an entity.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclOutboxEntry {
+
+    private final long id;
+    private final String entityClass;
+    private final String entityId;
+    private final ObjectIdentity objectIdentity;
+    private final AclSecuredOperation operation;
+    private final Long entityVersion;
+    private final int attempts;
+
+    public AclOutboxEntry(long id, String entityClass, String entityId, ObjectIdentity objectIdentity,
+                          AclSecuredOperation operation, Long entityVersion, int attempts) {
+        this.id = id;
+        this.entityClass = entityClass;
+        this.entityId = entityId;
+        this.objectIdentity = objectIdentity;
+        this.operation = operation;
+        this.entityVersion = entityVersion;
+        this.attempts = attempts;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * The store specific identifier of the entity, used to reload it.
+     *
+     * @return
+     */
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public ObjectIdentity getObjectIdentity() {
+        return objectIdentity;
+    }
+
+    public AclSecuredOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * The version of the entity when the intent was recorded or {@literal null} if it isn't versioned.
+     *
+     * @return
+     */
+    public Long getEntityVersion() {
+        return entityVersion;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
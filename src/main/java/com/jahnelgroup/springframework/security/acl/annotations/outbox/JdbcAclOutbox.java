@@ -0,0 +1,221 @@
+package com.jahnelgroup.springframework.security.acl.annotations.outbox;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclRuntimeException;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores ACL recompute intents in the acl_outbox table. Intents are recorded through the same {@link DataSource}
+ * as the entity so that they commit or roll back together with it. The table definition can be found in
+ * acl-outbox-schema.sql and works with embedded databases such as H2.
+ *
+ * Entries are claimed by a processor before they're processed, through a conditional update which only succeeds
+ * for unclaimed entries or entries whose lease expired, so each entry is processed by a single node at a time. An
+ * entry isn't claimable while an earlier entry for the same {@link ObjectIdentity} is waiting for a retry or
+ * claimed by another node, which keeps the entries of an {@link ObjectIdentity} in the order they were recorded.
+ *
+ * @author Steven Zgaljic
+ */
+public class JdbcAclOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    private String insertEntry = "insert into acl_outbox "
+            + "(entity_class, entity_id, object_id_identity, object_id_type, operation, entity_version, attempts, next_attempt) "
+            + "values (?, ?, ?, ?, ?, ?, 0, ?)";
+    private String selectClaimableEntries = "select o.id from acl_outbox o where o.attempts < ? and o.next_attempt <= ? "
+            + "and (o.claimed_until is null or o.claimed_until < ?) and not exists (select 1 from acl_outbox p "
+            + "where p.entity_class = o.entity_class and p.object_id_identity = o.object_id_identity and p.id < o.id "
+            + "and p.attempts < ? and (p.next_attempt > ? or p.claimed_until >= ?)) order by o.id";
+    private String claimEntry = "update acl_outbox set claimed_by = ?, claimed_until = ? where id = ? "
+            + "and (claimed_until is null or claimed_until < ?)";
+    private String selectClaimedEntries = "select id, entity_class, entity_id, object_id_identity, object_id_type, "
+            + "operation, entity_version, attempts from acl_outbox where claimed_by = ? and claimed_until >= ? order by id";
+    private String deleteEntryByPrimaryKey = "delete from acl_outbox where id=?";
+    private String rescheduleEntry = "update acl_outbox set attempts = attempts + 1, next_attempt = ?, "
+            + "claimed_by = null, claimed_until = null where id=?";
+    private String countPendingEntries = "select count(*) from acl_outbox where attempts < ?";
+    private String countFailedEntries = "select count(*) from acl_outbox where attempts >= ?";
+
+    public JdbcAclOutbox(DataSource dataSource) {
+        Assert.notNull(dataSource, "DataSource must not be null!");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Records an intent for the entity, participating in the current transaction if there is one.
+     *
+     * @param entityClass
+     * @param entityId
+     * @param oi
+     * @param operation
+     * @param entityVersion
+     */
+    public void record(String entityClass, String entityId, ObjectIdentity oi, AclSecuredOperation operation,
+                       Long entityVersion) {
+        jdbcTemplate.update(insertEntry, entityClass, entityId, String.valueOf(oi.getIdentifier()),
+                oi.getIdentifier().getClass().getName(), operation.name(), entityVersion,
+                new Timestamp(System.currentTimeMillis()));
+    }
+
+    /**
+     * Claims up to limit entries which are due and have not exceeded the maximum attempts for the owner and
+     * returns the entries held by the owner, ordered by the order in which they were recorded. Claims expire after
+     * the lease so that the entries of a node which stopped are picked up by another one.
+     *
+     * @param owner
+     * @param limit
+     * @param maxAttempts
+     * @param leaseMillis
+     * @return
+     */
+    public List<AclOutboxEntry> claim(String owner, int limit, int maxAttempts, long leaseMillis) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Long> candidates = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(selectClaimableEntries);
+            ps.setMaxRows(limit);
+            ps.setInt(1, maxAttempts);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setInt(4, maxAttempts);
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        if( !candidates.isEmpty() ){
+            Timestamp until = new Timestamp(now.getTime() + leaseMillis);
+            List<Object[]> args = new ArrayList<>(candidates.size());
+            for(Long id : candidates)
+                args.add(new Object[]{ owner, until, id, now });
+            jdbcTemplate.batchUpdate(claimEntry, args);
+        }
+
+        return jdbcTemplate.query(selectClaimedEntries, (rs, rowNum) -> mapEntry(rs), owner, now);
+    }
+
+    /**
+     * Removes the provided entries once they have been processed.
+     *
+     * @param entries
+     */
+    public void delete(Collection<AclOutboxEntry> entries) {
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for(AclOutboxEntry entry : entries)
+            args.add(new Object[]{ entry.getId() });
+
+        if( !args.isEmpty() )
+            jdbcTemplate.batchUpdate(deleteEntryByPrimaryKey, args);
+    }
+
+    /**
+     * Increments the attempts of the provided entries, releases their claim and postpones them by the provided
+     * delay. Later entries for the same {@link ObjectIdentity} wait until they're processed.
+     *
+     * @param entries
+     * @param delayMillis
+     */
+    public void reschedule(Collection<AclOutboxEntry> entries, long delayMillis) {
+        Timestamp nextAttempt = new Timestamp(System.currentTimeMillis() + delayMillis);
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for(AclOutboxEntry entry : entries)
+            args.add(new Object[]{ nextAttempt, entry.getId() });
+
+        if( !args.isEmpty() )
+            jdbcTemplate.batchUpdate(rescheduleEntry, args);
+    }
+
+    /**
+     * Returns the number of entries still to be processed.
+     *
+     * @param maxAttempts
+     * @return
+     */
+    public long countPending(int maxAttempts) {
+        return jdbcTemplate.queryForObject(countPendingEntries, Long.class, maxAttempts);
+    }
+
+    /**
+     * Returns the number of entries which exceeded the maximum attempts and will no longer be processed.
+     *
+     * @param maxAttempts
+     * @return
+     */
+    public long countFailed(int maxAttempts) {
+        return jdbcTemplate.queryForObject(countFailedEntries, Long.class, maxAttempts);
+    }
+
+    private AclOutboxEntry mapEntry(ResultSet rs) throws SQLException {
+        String entityClass = rs.getString("entity_class");
+        long version = rs.getLong("entity_version");
+        Long entityVersion = rs.wasNull() ? null : version;
+
+        return new AclOutboxEntry(rs.getLong("id"), entityClass, rs.getString("entity_id"),
+                new ObjectIdentityImpl(entityClass, toIdentifier(rs.getString("object_id_identity"),
+                        rs.getString("object_id_type"))),
+                AclSecuredOperation.valueOf(rs.getString("operation")), entityVersion, rs.getInt("attempts"));
+    }
+
+    private Serializable toIdentifier(String identifier, String type) {
+        try{
+            return (Serializable) conversionService.convert(identifier,
+                    ClassUtils.forName(type, getClass().getClassLoader()));
+        }catch(ClassNotFoundException e){
+            throw new AclRuntimeException(e);
+        }
+    }
+
+    public void setConversionService(ConversionService conversionService) {
+        Assert.notNull(conversionService, "ConversionService must not be null!");
+        this.conversionService = conversionService;
+    }
+
+    public void setInsertEntrySql(String insertEntry) {
+        this.insertEntry = insertEntry;
+    }
+
+    public void setClaimableEntriesQuery(String selectClaimableEntries) {
+        this.selectClaimableEntries = selectClaimableEntries;
+    }
+
+    public void setClaimEntrySql(String claimEntry) {
+        this.claimEntry = claimEntry;
+    }
+
+    public void setClaimedEntriesQuery(String selectClaimedEntries) {
+        this.selectClaimedEntries = selectClaimedEntries;
+    }
+
+    public void setDeleteEntryByPrimaryKeySql(String deleteEntryByPrimaryKey) {
+        this.deleteEntryByPrimaryKey = deleteEntryByPrimaryKey;
+    }
+
+    public void setRescheduleEntrySql(String rescheduleEntry) {
+        this.rescheduleEntry = rescheduleEntry;
+    }
+
+    public void setCountPendingEntriesQuery(String countPendingEntries) {
+        this.countPendingEntries = countPendingEntries;
+    }
+
+    public void setCountFailedEntriesQuery(String countFailedEntries) {
+        this.countFailedEntries = countFailedEntries;
+    }
+}
@@ -0,0 +1,369 @@
+package com.jahnelgroup.springframework.security.acl.annotations.service;
+
+import org.springframework.security.acls.domain.AccessControlEntryImpl;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AlreadyExistsException;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.ChildrenExistException;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link MutableAclService} keeping the ACLs in concurrent maps instead of the acl_* tables, for integration tests,
+ * load test baselines and read-mostly deployments which rebuild their ACLs from the entity data at boot.
+ *
+ * Each ACL is stored as an immutable snapshot which is only replaced by {@link #updateAcl(MutableAcl)}, so changes to
+ * a returned {@link MutableAcl} aren't visible until it is updated, like with the JdbcMutableAclService. Reads don't
+ * lock, writes lock the stripe of their {@link ObjectIdentity} so that writes of different ACLs rarely contend.
+ * Linking a parent also locks the stripe of the parent, and an ACL is only deleted while holding its own stripe and
+ * having no children, so a child is never linked to a parent which is being deleted.
+ *
+ * @author Steven Zgaljic
+ */
+public class InMemoryMutableAclService implements MutableAclService {
+
+    public static final int DEFAULT_STRIPES = 64;
+
+    private static final Field ACES_FIELD = field(AclImpl.class, "aces");
+
+    private final ConcurrentMap<ObjectIdentity, StoredAcl> acls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ObjectIdentity, Set<ObjectIdentity>> children = new ConcurrentHashMap<>();
+    private final AtomicLong aclIds = new AtomicLong();
+    private final AtomicLong aceIds = new AtomicLong();
+    private final ReentrantLock[] stripes;
+
+    private final AclAuthorizationStrategy aclAuthorizationStrategy;
+    private final PermissionGrantingStrategy permissionGrantingStrategy;
+    private Sid defaultOwner;
+
+    public InMemoryMutableAclService(AclAuthorizationStrategy aclAuthorizationStrategy,
+                                     PermissionGrantingStrategy permissionGrantingStrategy) {
+        this(aclAuthorizationStrategy, permissionGrantingStrategy, DEFAULT_STRIPES);
+    }
+
+    public InMemoryMutableAclService(AclAuthorizationStrategy aclAuthorizationStrategy,
+                                     PermissionGrantingStrategy permissionGrantingStrategy, int stripes) {
+        Assert.notNull(aclAuthorizationStrategy, "AclAuthorizationStrategy must not be null!");
+        Assert.notNull(permissionGrantingStrategy, "PermissionGrantingStrategy must not be null!");
+        Assert.isTrue(stripes > 0, "Stripes must be greater than 0!");
+        this.aclAuthorizationStrategy = aclAuthorizationStrategy;
+        this.permissionGrantingStrategy = permissionGrantingStrategy;
+
+        // a power of two so that the stripe is selected with a mask
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(size, 1)];
+        for(int i=0; i<this.stripes.length; i++)
+            this.stripes[i] = new ReentrantLock();
+    }
+
+    /**
+     * Sets the owner of the ACLs created without an {@link Authentication}, for instance while rebuilding the ACLs
+     * at boot. By default an {@link Authentication} is required.
+     *
+     * @param defaultOwner
+     */
+    public void setDefaultOwner(Sid defaultOwner) {
+        this.defaultOwner = defaultOwner;
+    }
+
+    /**
+     * Returns the number of stored ACLs.
+     *
+     * @return
+     */
+    public int size() {
+        return acls.size();
+    }
+
+    @Override
+    public MutableAcl createAcl(ObjectIdentity objectIdentity) throws AlreadyExistsException {
+        Assert.notNull(objectIdentity, "Object Identity required");
+
+        StoredAcl stored = new StoredAcl(aclIds.incrementAndGet(), null, getOwner(), true,
+                Collections.emptyList());
+        if( acls.putIfAbsent(objectIdentity, stored) != null )
+            throw new AlreadyExistsException("Object identity '" + objectIdentity + "' already exists");
+
+        return toAcl(objectIdentity, stored, new HashMap<>());
+    }
+
+    @Override
+    public void deleteAcl(ObjectIdentity objectIdentity, boolean deleteChildren) throws ChildrenExistException {
+        Assert.notNull(objectIdentity, "Object Identity required");
+
+        if( !deleteChildren ){
+            ReentrantLock lock = lock(objectIdentity);
+            try{
+                Set<ObjectIdentity> existing = children.get(objectIdentity);
+                if( existing != null && !existing.isEmpty() )
+                    throw new ChildrenExistException("Cannot delete '" + objectIdentity + "' (has "
+                            + existing.size() + " children)");
+                remove(objectIdentity);
+            }finally{
+                lock.unlock();
+            }
+            return;
+        }
+
+        // children are removed before their parent, one ACL at a time so that only a single stripe is held. Children
+        // linked in the meantime are found when their parent is locked for removal and removed first
+        Deque<ObjectIdentity> pending = new ArrayDeque<>();
+        pending.push(objectIdentity);
+        while( !pending.isEmpty() ){
+            ObjectIdentity oi = pending.peek();
+            ReentrantLock lock = lock(oi);
+            try{
+                Set<ObjectIdentity> existing = children.get(oi);
+                if( existing != null && !existing.isEmpty() ){
+                    existing.forEach(pending::push);
+                    continue;
+                }
+                remove(oi);
+                pending.pop();
+            }finally{
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public MutableAcl updateAcl(MutableAcl acl) throws NotFoundException {
+        Assert.notNull(acl.getId(), "Object Identity doesn't provide an identifier");
+
+        ObjectIdentity oi = acl.getObjectIdentity();
+        ObjectIdentity parent = acl.getParentAcl() == null ? null : acl.getParentAcl().getObjectIdentity();
+
+        List<StoredAce> aces = new ArrayList<>(acl.getEntries().size());
+        for(AccessControlEntry ace : acl.getEntries())
+            aces.add(new StoredAce(ace.getId() == null ? aceIds.incrementAndGet() : ace.getId(), ace));
+
+        // the parent is locked as well so that it can't be deleted while the child is linked to it
+        ReentrantLock[] locks = lock(oi, parent);
+        try{
+            if( parent != null && !acls.containsKey(parent) )
+                throw new NotFoundException("Unable to find ACL information for object identity '" + parent + "'");
+
+            StoredAcl existing = acls.get(oi);
+            if( existing == null )
+                throw new NotFoundException("Unable to find ACL information for object identity '" + oi + "'");
+
+            StoredAcl stored = new StoredAcl(existing.id, parent, acl.getOwner(), acl.isEntriesInheriting(), aces);
+            acls.put(oi, stored);
+
+            if( existing.parent != null && !existing.parent.equals(parent) )
+                removeChild(existing.parent, oi);
+            if( parent != null )
+                children.computeIfAbsent(parent, k -> ConcurrentHashMap.newKeySet()).add(oi);
+
+            return toAcl(oi, stored, new HashMap<>());
+        }finally{
+            for(int i=locks.length-1; i>=0; i--)
+                locks[i].unlock();
+        }
+    }
+
+    @Override
+    public List<ObjectIdentity> findChildren(ObjectIdentity parentIdentity) {
+        Set<ObjectIdentity> existing = children.get(parentIdentity);
+        if( existing == null || existing.isEmpty() )
+            return null;
+        return new ArrayList<>(existing);
+    }
+
+    @Override
+    public Acl readAclById(ObjectIdentity object) throws NotFoundException {
+        return readAclById(object, null);
+    }
+
+    @Override
+    public Acl readAclById(ObjectIdentity object, List<Sid> sids) throws NotFoundException {
+        return readAclsById(Collections.singletonList(object), sids).get(object);
+    }
+
+    @Override
+    public Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects) throws NotFoundException {
+        return readAclsById(objects, null);
+    }
+
+    /**
+     * Reads the ACLs of the provided {@link ObjectIdentity}'s. Parents shared within the batch are built once and
+     * every ACL is loaded for all {@link Sid}'s, as the BasicLookupStrategy does.
+     *
+     * @param objects
+     * @param sids
+     * @return
+     * @throws NotFoundException
+     */
+    @Override
+    public Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects, List<Sid> sids)
+            throws NotFoundException {
+        Assert.notEmpty(objects, "Objects to lookup required");
+
+        Map<ObjectIdentity, MutableAcl> built = new HashMap<>();
+        Map<ObjectIdentity, Acl> result = new HashMap<>();
+        for(ObjectIdentity oi : objects){
+            Acl acl = getAcl(oi, built);
+            if( acl == null )
+                throw new NotFoundException("Unable to find ACL information for object identity '" + oi + "'");
+            result.put(oi, acl);
+        }
+        return result;
+    }
+
+    private MutableAcl getAcl(ObjectIdentity oi, Map<ObjectIdentity, MutableAcl> built) {
+        MutableAcl acl = built.get(oi);
+        if( acl != null )
+            return acl;
+
+        StoredAcl stored = acls.get(oi);
+        return stored == null ? null : toAcl(oi, stored, built);
+    }
+
+    private MutableAcl toAcl(ObjectIdentity oi, StoredAcl stored, Map<ObjectIdentity, MutableAcl> built) {
+        // a parent removed concurrently is dropped from the chain rather than failing the read
+        Acl parent = stored.parent == null ? null : getAcl(stored.parent, built);
+
+        AclImpl acl = new AclImpl(oi, stored.id, aclAuthorizationStrategy, permissionGrantingStrategy, parent, null,
+                stored.entriesInheriting, stored.owner);
+
+        List<AccessControlEntryImpl> aces = new ArrayList<>(stored.aces.size());
+        for(StoredAce ace : stored.aces){
+            aces.add(new AccessControlEntryImpl(ace.id, acl, ace.sid, ace.permission, ace.granting,
+                    ace.auditSuccess, ace.auditFailure));
+        }
+        // AclImpl has no way to add entries without the authorization checks, the same is done by the
+        // BasicLookupStrategy
+        ReflectionUtils.setField(ACES_FIELD, acl, aces);
+
+        built.put(oi, acl);
+        return acl;
+    }
+
+    private void remove(ObjectIdentity oi) {
+        StoredAcl removed = acls.remove(oi);
+        if( removed != null && removed.parent != null )
+            removeChild(removed.parent, oi);
+        children.remove(oi);
+    }
+
+    private void removeChild(ObjectIdentity parent, ObjectIdentity child) {
+        children.computeIfPresent(parent, (k, existing) -> {
+            existing.remove(child);
+            return existing.isEmpty() ? null : existing;
+        });
+    }
+
+    private Sid getOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if( authentication != null )
+            return new PrincipalSid(authentication);
+
+        Assert.notNull(defaultOwner, "Authentication required");
+        return defaultOwner;
+    }
+
+    private ReentrantLock lock(ObjectIdentity oi) {
+        ReentrantLock lock = stripes[stripe(oi)];
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Locks the stripes of both {@link ObjectIdentity}'s in the order of their index, so that no two writers wait on
+     * each other.
+     *
+     * @param oi
+     * @param other may be {@literal null}
+     * @return the held locks
+     */
+    private ReentrantLock[] lock(ObjectIdentity oi, ObjectIdentity other) {
+        int first = stripe(oi);
+        int second = other == null ? first : stripe(other);
+        if( first == second )
+            return new ReentrantLock[]{ lock(oi) };
+
+        ReentrantLock[] locks = { stripes[Math.min(first, second)], stripes[Math.max(first, second)] };
+        locks[0].lock();
+        locks[1].lock();
+        return locks;
+    }
+
+    private int stripe(ObjectIdentity oi) {
+        int hash = oi.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static Field field(Class<?> type, String name) {
+        Field field = ReflectionUtils.findField(type, name);
+        Assert.notNull(field, "Unable to find field " + name + " on " + type.getName());
+        ReflectionUtils.makeAccessible(field);
+        return field;
+    }
+
+    private static class StoredAcl {
+        private final Long id;
+        private final ObjectIdentity parent;
+        private final Sid owner;
+        private final boolean entriesInheriting;
+        private final List<StoredAce> aces;
+
+        StoredAcl(Long id, ObjectIdentity parent, Sid owner, boolean entriesInheriting, List<StoredAce> aces) {
+            this.id = id;
+            this.parent = parent;
+            this.owner = owner;
+            this.entriesInheriting = entriesInheriting;
+            this.aces = aces;
+        }
+    }
+
+    private static class StoredAce {
+        private final Serializable id;
+        private final Sid sid;
+        private final Permission permission;
+        private final boolean granting;
+        private final boolean auditSuccess;
+        private final boolean auditFailure;
+
+        StoredAce(Serializable id, AccessControlEntry ace) {
+            this.id = id;
+            this.sid = ace.getSid();
+            this.permission = ace.getPermission();
+            this.granting = ace.isGranting();
+            if( ace instanceof AuditableAccessControlEntry ){
+                this.auditSuccess = ((AuditableAccessControlEntry) ace).isAuditSuccess();
+                this.auditFailure = ((AuditableAccessControlEntry) ace).isAuditFailure();
+            }else{
+                this.auditSuccess = false;
+                this.auditFailure = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.jahnelgroup.springframework.security.acl.annotations.writer;
+
+import org.springframework.security.acls.model.AccessControlEntry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the difference between the {@link AccessControlEntry}'s currently stored for an ACL and the
+ * entries desired by its annotated Object.
+ *
+ * Removed entries are the instances read from the ACL, added entries are not yet persisted and carry
+ * no identifier.
+ *
+ * @author Steven Zgaljic
+ */
+public class AclEntryDelta {
+
+    private final List<AccessControlEntry> removed;
+    private final List<AccessControlEntry> added;
+    private final boolean parentChanged;
+
+    public AclEntryDelta(List<AccessControlEntry> removed, List<AccessControlEntry> added, boolean parentChanged) {
+        this.removed = Collections.unmodifiableList(removed);
+        this.added = Collections.unmodifiableList(added);
+        this.parentChanged = parentChanged;
+    }
+
+    /**
+     * Entries currently stored on the ACL which are no longer desired.
+     *
+     * @return
+     */
+    public List<AccessControlEntry> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Entries which are desired but not yet stored on the ACL.
+     *
+     * @return
+     */
+    public List<AccessControlEntry> getAdded() {
+        return added;
+    }
+
+    /**
+     * True if the parent ACL or the entries inheriting flag has changed.
+     *
+     * @return
+     */
+    public boolean isParentChanged() {
+        return parentChanged;
+    }
+
+    /**
+     * True if there is nothing to write.
+     *
+     * @return
+     */
+    public boolean isEmpty() {
+        return removed.isEmpty() && added.isEmpty() && !parentChanged;
+    }
+}
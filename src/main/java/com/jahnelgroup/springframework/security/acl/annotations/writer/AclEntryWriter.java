@@ -0,0 +1,74 @@
+package com.jahnelgroup.springframework.security.acl.annotations.writer;
+
+import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists an {@link AclEntryDelta} for an ACL so that only the changed entries are written to the store.
+ *
+ * @author Steven Zgaljic
+ */
+public interface AclEntryWriter {
+
+    /**
+     * Applies the provided {@link AclEntryDelta} to the ACL. The parent and entries inheriting flag are
+     * expected to already be set on the provided {@link MutableAcl}.
+     *
+     * @param acl
+     * @param delta
+     */
+    void write(MutableAcl acl, AclEntryDelta delta);
+
+    /**
+     * Applies the provided {@link AclEntryDelta}'s to their ACLs as one batch. By default each delta is
+     * written individually.
+     *
+     * @param deltas
+     */
+    default void write(List<Tuple<MutableAcl, AclEntryDelta>> deltas) {
+        for(Tuple<MutableAcl, AclEntryDelta> delta : deltas)
+            write(delta.first, delta.second);
+    }
+
+    /**
+     * Creates the ACLs of the provided {@link ObjectIdentity}'s as one batch, reading the ones which already exist.
+     * By default returns {@literal null} so that each ACL is created through
+     * {@link org.springframework.security.acls.model.MutableAclService#createAcl(ObjectIdentity)}.
+     *
+     * @param ois
+     * @return
+     */
+    default Map<ObjectIdentity, MutableAcl> createAcls(List<ObjectIdentity> ois) {
+        return null;
+    }
+
+    /**
+     * Deletes the ACLs of the provided {@link ObjectIdentity}'s along with all of their descendants as one batch and
+     * returns the number of deleted descendants. By default returns -1 so that each ACL is deleted through
+     * {@link org.springframework.security.acls.model.MutableAclService#deleteAcl(ObjectIdentity, boolean)}.
+     *
+     * @param ois
+     * @return
+     */
+    default int deleteAcls(List<ObjectIdentity> ois) {
+        return -1;
+    }
+
+    /**
+     * Returns which of the provided {@link ObjectIdentity}'s have an ACL, looked up as one batch without building the
+     * ACLs. By default returns {@literal null} as the existence can't be checked cheaply, in which case the parents
+     * linked by a write aren't verified beforehand.
+     *
+     * @param ois
+     * @return
+     */
+    default Set<ObjectIdentity> findExistingAcls(List<ObjectIdentity> ois) {
+        return null;
+    }
+
+}
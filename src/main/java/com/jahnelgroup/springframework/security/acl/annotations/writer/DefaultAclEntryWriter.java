@@ -0,0 +1,51 @@
+package com.jahnelgroup.springframework.security.acl.annotations.writer;
+
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Default implementation of {@link AclEntryWriter} which applies the delta to the {@link MutableAcl} and
+ * persists it through {@link MutableAclService#updateAcl(MutableAcl)}. Nothing is written if the delta is empty.
+ *
+ * @author Steven Zgaljic
+ */
+public class DefaultAclEntryWriter implements AclEntryWriter {
+
+    private MutableAclService aclService;
+
+    public DefaultAclEntryWriter(MutableAclService aclService) {
+        Assert.notNull(aclService, "MutableAclService must not be null!");
+        this.aclService = aclService;
+    }
+
+    @Override
+    public void write(MutableAcl acl, AclEntryDelta delta) {
+        if( delta.isEmpty() )
+            return;
+
+        if( !delta.getRemoved().isEmpty() ){
+            Set<AccessControlEntry> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            removed.addAll(delta.getRemoved());
+
+            List<AccessControlEntry> entries = acl.getEntries();
+            for(int i=entries.size()-1; i>=0; i--){
+                if( removed.contains(entries.get(i)) )
+                    acl.deleteAce(i);
+            }
+        }
+
+        for(AccessControlEntry ace : delta.getAdded()){
+            acl.insertAce(acl.getEntries().size(), ace.getPermission(), ace.getSid(), ace.isGranting());
+        }
+
+        aclService.updateAcl(acl);
+    }
+
+}
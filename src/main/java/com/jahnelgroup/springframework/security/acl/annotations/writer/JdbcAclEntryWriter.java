@@ -0,0 +1,587 @@
+package com.jahnelgroup.springframework.security.acl.annotations.writer;
+
+import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.*;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+/**
+ * JDBC implementation of {@link AclEntryWriter} which only issues statements for the changed rows of the
+ * standard acl_* schema instead of deleting and re-inserting every entry. Removed entries are deleted by their
+ * primary key and added entries are appended after the highest existing ace_order.
+ *
+ * New ACLs are created as one batch as well: the classes, sids and existing object identities of the batch are
+ * resolved with one query per {@link #setMaxInClauseSize(int) chunk} and the missing rows are inserted with batched
+ * statements instead of a lookup, an insert and an identity call per row.
+ *
+ * Deleted ACLs take their whole subtree with them: the descendants are collected one level at a time through
+ * acl_object_identity.parent_object and their entries and identities are deleted with set based statements.
+ *
+ * Derived and inspired by {@link org.springframework.security.acls.jdbc.JdbcMutableAclService}
+ *
+ * @author Steven Zgaljic
+ */
+public class JdbcAclEntryWriter implements AclEntryWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AclService aclService;
+    private final AclCache aclCache;
+
+    private String deleteEntryByPrimaryKey = "delete from acl_entry where id=?";
+    private String insertEntry = "insert into acl_entry "
+            + "(acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)"
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+    private String selectMaxAceOrders = "select acl_object_identity, max(ace_order) from acl_entry "
+            + "where acl_object_identity in (%s) group by acl_object_identity";
+    private String insertSid = "insert into acl_sid (principal, sid) values (?, ?)";
+    private String selectSidPrimaryKeys = "select id, sid from acl_sid where principal=? and sid in (%s)";
+    private String insertClass = "insert into acl_class (class) values (?)";
+    private String selectClassPrimaryKeys = "select id, class from acl_class where class in (%s)";
+    private String insertObjectIdentity = "insert into acl_object_identity "
+            + "(object_id_class, object_id_identity, owner_sid, entries_inheriting) values (?, ?, ?, ?)";
+    private String selectObjectIdentities = "select id, object_id_identity from acl_object_identity "
+            + "where object_id_class=? and object_id_identity in (%s)";
+    private String selectChildPrimaryKeys = "select id from acl_object_identity where parent_object in (%s)";
+    private String deleteEntriesByObjectIdentities = "delete from acl_entry where acl_object_identity in (%s)";
+    private String deleteObjectIdentities = "delete from acl_object_identity where id in (%s)";
+    private String updateObjectIdentityParent = "update acl_object_identity set "
+            + "parent_object = ?, entries_inheriting = ?"
+            + " where id = ?";
+    private int maxInClauseSize = 500;
+
+    public JdbcAclEntryWriter(DataSource dataSource, AclService aclService, AclCache aclCache) {
+        Assert.notNull(dataSource, "DataSource must not be null!");
+        Assert.notNull(aclService, "AclService must not be null!");
+        Assert.notNull(aclCache, "AclCache must not be null!");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.aclService = aclService;
+        this.aclCache = aclCache;
+    }
+
+    /**
+     * Creates the ACLs of the provided {@link ObjectIdentity}'s owned by the current principal, like
+     * {@link org.springframework.security.acls.jdbc.JdbcMutableAclService#createAcl(ObjectIdentity)} does, and reads
+     * them back with a single {@link AclService#readAclsById(List)}. ACLs which already exist are read as they are.
+     *
+     * @param ois
+     * @return
+     */
+    @Override
+    public Map<ObjectIdentity, MutableAcl> createAcls(List<ObjectIdentity> ois) {
+        if( ois.isEmpty() )
+            return Collections.emptyMap();
+
+        Assert.isTrue(TransactionSynchronizationManager.isSynchronizationActive(), "Transaction must be running");
+        Sid owner = new PrincipalSid(SecurityContextHolder.getContext().getAuthentication());
+        Long ownerId = retrieveSidPrimaryKeys(Collections.singleton(owner)).get(owner);
+
+        Map<String, List<ObjectIdentity>> byType = new LinkedHashMap<>();
+        for(ObjectIdentity oi : ois)
+            byType.computeIfAbsent(oi.getType(), k -> new ArrayList<>()).add(oi);
+        Map<String, Long> classIds = retrieveClassPrimaryKeys(byType.keySet());
+
+        List<Object[]> inserts = new ArrayList<>();
+        for(Map.Entry<String, List<ObjectIdentity>> type : byType.entrySet()){
+            Long classId = classIds.get(type.getKey());
+            Set<String> existing = new HashSet<>(selectObjectIdentities(classId, type.getValue()).keySet());
+
+            for(ObjectIdentity oi : type.getValue()){
+                // identifiers are compared as strings since the column is numeric or textual depending on the schema
+                if( existing.add(oi.getIdentifier().toString()) )
+                    inserts.add(new Object[]{ classId, oi.getIdentifier(), ownerId, Boolean.TRUE });
+            }
+        }
+
+        if( !inserts.isEmpty() )
+            jdbcTemplate.batchUpdate(insertObjectIdentity, inserts);
+
+        Map<ObjectIdentity, MutableAcl> acls = new HashMap<>();
+        for(Map.Entry<ObjectIdentity, Acl> acl : aclService.readAclsById(ois).entrySet()){
+            Assert.isInstanceOf(MutableAcl.class, acl.getValue(), "MutableAcl should have been returned");
+            acls.put(acl.getKey(), (MutableAcl) acl.getValue());
+        }
+        return acls;
+    }
+
+    /**
+     * Deletes the ACLs of the provided {@link ObjectIdentity}'s and their descendants, which are collected with one
+     * query per level of the hierarchy. Entries and identities are deleted from the deepest level up since children
+     * reference their parent.
+     *
+     * The ACLs are evicted from the {@link AclCache} before their rows are deleted, since evicting an ACL may read
+     * its parent.
+     *
+     * @param ois
+     * @return
+     */
+    @Override
+    public int deleteAcls(List<ObjectIdentity> ois) {
+        if( ois.isEmpty() )
+            return 0;
+
+        List<Long> roots = new ArrayList<>(retrieveObjectIdentityPrimaryKeys(ois).values());
+        List<List<Long>> levels = new ArrayList<>();
+        Set<Long> collected = new HashSet<>(roots);
+        for(List<Long> level = roots; !level.isEmpty(); ){
+            levels.add(level);
+            List<Long> children = new ArrayList<>();
+            for(List<Long> chunk : chunks(level)){
+                jdbcTemplate.query(inClause(selectChildPrimaryKeys, chunk.size()), chunk.toArray(), rs -> {
+                    long id = rs.getLong(1);
+                    if( collected.add(id) )
+                        children.add(id);
+                });
+            }
+            level = children;
+        }
+
+        for(int i=levels.size()-1; i>=0; i--){
+            for(Long id : levels.get(i))
+                aclCache.evictFromCache(id);
+        }
+        for(ObjectIdentity oi : ois)
+            aclCache.evictFromCache(oi);
+
+        for(int i=levels.size()-1; i>=0; i--){
+            for(List<Long> chunk : chunks(levels.get(i))){
+                jdbcTemplate.update(inClause(deleteEntriesByObjectIdentities, chunk.size()), chunk.toArray());
+                jdbcTemplate.update(inClause(deleteObjectIdentities, chunk.size()), chunk.toArray());
+            }
+        }
+
+        return collected.size() - roots.size();
+    }
+
+    /**
+     * Returns which of the provided {@link ObjectIdentity}'s have an ACL, selecting their primary keys with one
+     * query per class and {@link #setMaxInClauseSize(int) chunk} instead of reading the ACLs.
+     *
+     * @param ois
+     * @return
+     */
+    @Override
+    public Set<ObjectIdentity> findExistingAcls(List<ObjectIdentity> ois) {
+        return new HashSet<>(retrieveObjectIdentityPrimaryKeys(ois).keySet());
+    }
+
+    @Override
+    public void write(MutableAcl acl, AclEntryDelta delta) {
+        write(Collections.singletonList(new Tuple<>(acl, delta)));
+    }
+
+    /**
+     * Writes all deltas with one batched delete, one batched insert and one batched parent update. The sids of the
+     * added entries, the ace_order to append them at and the primary keys of the new parents are resolved together
+     * before, with one query per {@link #setMaxInClauseSize(int) chunk} each.
+     *
+     * @param deltas
+     */
+    @Override
+    public void write(List<Tuple<MutableAcl, AclEntryDelta>> deltas) {
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> parentUpdates = new ArrayList<>();
+
+        Set<Sid> sids = new HashSet<>();
+        List<Long> appended = new ArrayList<>();
+        Set<ObjectIdentity> parents = new HashSet<>();
+        for(Tuple<MutableAcl, AclEntryDelta> tuple : deltas){
+            MutableAcl acl = tuple.first;
+            AclEntryDelta delta = tuple.second;
+            if( delta.isEmpty() )
+                continue;
+
+            Assert.notNull(acl.getId(), "Object Identity doesn't provide an identifier");
+            for(AccessControlEntry ace : delta.getAdded())
+                sids.add(ace.getSid());
+            // ACLs read without entries start at zero without a query
+            if( !delta.getAdded().isEmpty() && !acl.getEntries().isEmpty() )
+                appended.add((Long) acl.getId());
+            if( delta.isParentChanged() && acl.getParentAcl() != null )
+                parents.add(acl.getParentAcl().getObjectIdentity());
+        }
+        Map<Sid, Long> sidIds = retrieveSidPrimaryKeys(sids);
+        Map<Long, Integer> aceOrders = retrieveNextAceOrders(appended);
+        Map<ObjectIdentity, Long> parentIds = retrieveObjectIdentityPrimaryKeys(parents);
+
+        for(Tuple<MutableAcl, AclEntryDelta> tuple : deltas){
+            MutableAcl acl = tuple.first;
+            AclEntryDelta delta = tuple.second;
+            if( delta.isEmpty() )
+                continue;
+
+            Long aclId = (Long) acl.getId();
+
+            for(AccessControlEntry ace : delta.getRemoved()){
+                if( ace.getId() != null )
+                    deletes.add(new Object[]{ ace.getId() });
+            }
+
+            if( !delta.getAdded().isEmpty() ){
+                int order = aceOrders.getOrDefault(aclId, 0);
+                for(AccessControlEntry ace : delta.getAdded()){
+                    inserts.add(new Object[]{ aclId, order++, sidIds.get(ace.getSid()), ace.getPermission().getMask(),
+                            ace.isGranting(), Boolean.FALSE, Boolean.FALSE });
+                }
+            }
+
+            if( delta.isParentChanged() ){
+                Long parentId = null;
+                if( acl.getParentAcl() != null ){
+                    ObjectIdentity parent = acl.getParentAcl().getObjectIdentity();
+                    parentId = parentIds.get(parent);
+                    if( parentId == null )
+                        throw new NotFoundException("Unable to locate parent ACL " + parent);
+                }
+                parentUpdates.add(new Object[]{ parentId, acl.isEntriesInheriting(), aclId });
+            }
+        }
+
+        if( !deletes.isEmpty() )
+            jdbcTemplate.batchUpdate(deleteEntryByPrimaryKey, deletes);
+
+        if( !inserts.isEmpty() )
+            jdbcTemplate.batchUpdate(insertEntry, inserts);
+
+        if( !parentUpdates.isEmpty() ){
+            for(int count : jdbcTemplate.batchUpdate(updateObjectIdentityParent, parentUpdates)){
+                if( count == 0 )
+                    throw new NotFoundException("Unable to locate ACL to update");
+            }
+        }
+
+        for(Tuple<MutableAcl, AclEntryDelta> tuple : deltas){
+            if( !tuple.second.isEmpty() )
+                clearCacheIncludingChildren(tuple.first.getObjectIdentity());
+        }
+    }
+
+    /**
+     * Returns the ace_order to append new entries at for each of the provided acl_object_identity primary keys,
+     * selected with one query per chunk. ACLs without entries are missing from the result.
+     *
+     * @param aclIds
+     * @return
+     */
+    protected Map<Long, Integer> retrieveNextAceOrders(Collection<Long> aclIds) {
+        Map<Long, Integer> orders = new HashMap<>();
+        for(List<Long> chunk : chunks(aclIds)){
+            jdbcTemplate.query(inClause(selectMaxAceOrders, chunk.size()), chunk.toArray(),
+                    rs -> { orders.put(rs.getLong(1), rs.getInt(2) + 1); });
+        }
+        return orders;
+    }
+
+    /**
+     * Retrieves the acl_object_identity primary keys of the provided {@link ObjectIdentity}'s with one query per
+     * class and chunk. {@link ObjectIdentity}'s without an ACL are missing from the result.
+     *
+     * @param ois
+     * @return
+     */
+    protected Map<ObjectIdentity, Long> retrieveObjectIdentityPrimaryKeys(Collection<ObjectIdentity> ois) {
+        Map<ObjectIdentity, Long> ids = new HashMap<>();
+        if( ois.isEmpty() )
+            return ids;
+
+        Map<String, List<ObjectIdentity>> byType = new LinkedHashMap<>();
+        for(ObjectIdentity oi : ois)
+            byType.computeIfAbsent(oi.getType(), k -> new ArrayList<>()).add(oi);
+
+        Map<String, Long> classIds = selectClassPrimaryKeys(byType.keySet());
+        for(Map.Entry<String, List<ObjectIdentity>> type : byType.entrySet()){
+            Long classId = find(classIds, type.getKey());
+            if( classId == null )
+                continue;
+
+            Map<String, Long> found = selectObjectIdentities(classId, type.getValue());
+            for(ObjectIdentity oi : type.getValue()){
+                // identifiers are compared as strings since the column is numeric or textual depending on the schema
+                Long id = found.get(oi.getIdentifier().toString());
+                if( id != null )
+                    ids.put(oi, id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Retrieves the primary key from acl_sid, creating a new row if needed.
+     *
+     * @param sid
+     * @return
+     */
+    protected Long createOrRetrieveSidPrimaryKey(Sid sid) {
+        return retrieveSidPrimaryKeys(Collections.singleton(sid)).get(sid);
+    }
+
+    /**
+     * Retrieves the primary keys from acl_sid with one query per chunk and principal flag, inserting the missing
+     * rows with one batched statement and selecting them again.
+     *
+     * @param sids
+     * @return
+     */
+    protected Map<Sid, Long> retrieveSidPrimaryKeys(Collection<Sid> sids) {
+        Map<Sid, Long> sidIds = new HashMap<>();
+        if( sids.isEmpty() )
+            return sidIds;
+
+        Map<String, Sid> principals = new HashMap<>();
+        Map<String, Sid> authorities = new HashMap<>();
+        for(Sid sid : sids){
+            if( sid instanceof PrincipalSid ){
+                principals.put(((PrincipalSid) sid).getPrincipal(), sid);
+            }else if( sid instanceof GrantedAuthoritySid ){
+                authorities.put(((GrantedAuthoritySid) sid).getGrantedAuthority(), sid);
+            }else{
+                throw new IllegalArgumentException("Unsupported implementation of Sid");
+            }
+        }
+
+        retrieveSidPrimaryKeys(true, principals, sidIds);
+        retrieveSidPrimaryKeys(false, authorities, sidIds);
+        return sidIds;
+    }
+
+    private void retrieveSidPrimaryKeys(boolean principal, Map<String, Sid> names, Map<Sid, Long> sidIds) {
+        if( names.isEmpty() )
+            return;
+
+        Map<String, Long> found = selectSidPrimaryKeys(principal, names.keySet());
+        List<Object[]> inserts = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for(String name : names.keySet()){
+            if( find(found, name) == null ){
+                inserts.add(new Object[]{ principal, name });
+                missing.add(name);
+            }
+        }
+        if( !inserts.isEmpty() ){
+            jdbcTemplate.batchUpdate(insertSid, inserts);
+            found.putAll(selectSidPrimaryKeys(principal, missing));
+        }
+
+        for(Map.Entry<String, Sid> name : names.entrySet()){
+            Long id = find(found, name.getKey());
+            if( id == null )
+                throw new NotFoundException("Unable to locate sid " + name.getValue());
+            sidIds.put(name.getValue(), id);
+        }
+    }
+
+    private Map<String, Long> selectSidPrimaryKeys(boolean principal, Collection<String> names) {
+        Map<String, Long> found = new HashMap<>();
+        for(List<String> chunk : chunks(names)){
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(principal);
+            args.addAll(chunk);
+            jdbcTemplate.query(inClause(selectSidPrimaryKeys, chunk.size()), args.toArray(),
+                    rs -> { put(found, rs.getString(2), rs.getLong(1)); });
+        }
+        return found;
+    }
+
+    /**
+     * Retrieves the primary keys from acl_class, inserting the missing rows with one batched statement.
+     *
+     * @param types
+     * @return
+     */
+    protected Map<String, Long> retrieveClassPrimaryKeys(Collection<String> types) {
+        Map<String, Long> classIds = selectClassPrimaryKeys(types);
+        List<Object[]> inserts = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for(String type : types){
+            if( find(classIds, type) == null ){
+                inserts.add(new Object[]{ type });
+                missing.add(type);
+            }
+        }
+        if( !inserts.isEmpty() ){
+            jdbcTemplate.batchUpdate(insertClass, inserts);
+            classIds.putAll(selectClassPrimaryKeys(missing));
+        }
+
+        Map<String, Long> resolved = new HashMap<>();
+        for(String type : types)
+            resolved.put(type, find(classIds, type));
+        return resolved;
+    }
+
+    private Map<String, Long> selectClassPrimaryKeys(Collection<String> types) {
+        Map<String, Long> found = new HashMap<>();
+        for(List<String> chunk : chunks(types)){
+            jdbcTemplate.query(inClause(selectClassPrimaryKeys, chunk.size()), chunk.toArray(),
+                    rs -> { put(found, rs.getString(2), rs.getLong(1)); });
+        }
+        return found;
+    }
+
+    /**
+     * Selects the acl_object_identity primary keys of the provided {@link ObjectIdentity}'s of a class, keyed by
+     * their object_id_identity.
+     *
+     * @param classId
+     * @param ois
+     * @return
+     */
+    private Map<String, Long> selectObjectIdentities(Long classId, List<ObjectIdentity> ois) {
+        Map<String, Long> found = new HashMap<>();
+        for(List<ObjectIdentity> chunk : chunks(ois)){
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(classId);
+            for(ObjectIdentity oi : chunk)
+                args.add(oi.getIdentifier());
+            jdbcTemplate.query(inClause(selectObjectIdentities, chunk.size()), args.toArray(),
+                    rs -> { found.put(rs.getString(2), rs.getLong(1)); });
+        }
+        return found;
+    }
+
+    /**
+     * Puts the primary key selected for a sid or class under its name and, unless an exact name already took it,
+     * under its lower case name, since the standard schema declares those columns as varchar_ignorecase.
+     *
+     * @param found
+     * @param name
+     * @param id
+     */
+    private static void put(Map<String, Long> found, String name, long id) {
+        found.put(name, id);
+        found.putIfAbsent(name.toLowerCase(Locale.ROOT), id);
+    }
+
+    /**
+     * Returns the primary key selected for the provided name, ignoring its case if there is no exact match.
+     *
+     * @param found
+     * @param name
+     * @return
+     */
+    private static Long find(Map<String, Long> found, String name) {
+        Long id = found.get(name);
+        return id != null ? id : found.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> list = values instanceof List ? (List<T>) values : new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for(int i=0; i<list.size(); i+=maxInClauseSize)
+            chunks.add(list.subList(i, Math.min(i + maxInClauseSize, list.size())));
+        return chunks;
+    }
+
+    private static String inClause(String query, int size) {
+        return String.format(query, StringUtils.collectionToDelimitedString(Collections.nCopies(size, "?"), ", "));
+    }
+
+    private void clearCacheIncludingChildren(ObjectIdentity objectIdentity) {
+        List<ObjectIdentity> children = aclService.findChildren(objectIdentity);
+        if( children != null ){
+            for(ObjectIdentity child : children)
+                clearCacheIncludingChildren(child);
+        }
+        aclCache.evictFromCache(objectIdentity);
+    }
+
+    public void setDeleteEntryByPrimaryKeySql(String deleteEntryByPrimaryKey) {
+        this.deleteEntryByPrimaryKey = deleteEntryByPrimaryKey;
+    }
+
+    public void setInsertEntrySql(String insertEntry) {
+        this.insertEntry = insertEntry;
+    }
+
+    /**
+     * Sets the query selecting the acl_object_identity and highest ace_order of the acl_entry rows of the ACLs, %s is
+     * replaced by the placeholders of their primary keys.
+     *
+     * @param selectMaxAceOrders
+     */
+    public void setMaxAceOrdersQuery(String selectMaxAceOrders) {
+        this.selectMaxAceOrders = selectMaxAceOrders;
+    }
+
+    public void setInsertSidSql(String insertSid) {
+        this.insertSid = insertSid;
+    }
+
+    /**
+     * Sets the query selecting the id and sid of the acl_sid rows with a principal flag, %s is replaced by the
+     * placeholders of the sids.
+     *
+     * @param selectSidPrimaryKeys
+     */
+    public void setSidPrimaryKeysQuery(String selectSidPrimaryKeys) {
+        this.selectSidPrimaryKeys = selectSidPrimaryKeys;
+    }
+
+    public void setInsertClassSql(String insertClass) {
+        this.insertClass = insertClass;
+    }
+
+    /**
+     * Sets the query selecting the id and class of acl_class rows, %s is replaced by the placeholders of the classes.
+     *
+     * @param selectClassPrimaryKeys
+     */
+    public void setClassPrimaryKeysQuery(String selectClassPrimaryKeys) {
+        this.selectClassPrimaryKeys = selectClassPrimaryKeys;
+    }
+
+    public void setInsertObjectIdentitySql(String insertObjectIdentity) {
+        this.insertObjectIdentity = insertObjectIdentity;
+    }
+
+    /**
+     * Sets the query selecting the id and object_id_identity of the acl_object_identity rows of a class, %s is
+     * replaced by the placeholders of the identifiers.
+     *
+     * @param selectObjectIdentities
+     */
+    public void setObjectIdentitiesQuery(String selectObjectIdentities) {
+        this.selectObjectIdentities = selectObjectIdentities;
+    }
+
+    /**
+     * Sets the query selecting the id of the acl_object_identity rows whose parent_object is one of the %s
+     * placeholders.
+     *
+     * @param selectChildPrimaryKeys
+     */
+    public void setChildPrimaryKeysQuery(String selectChildPrimaryKeys) {
+        this.selectChildPrimaryKeys = selectChildPrimaryKeys;
+    }
+
+    public void setDeleteEntriesByObjectIdentitiesSql(String deleteEntriesByObjectIdentities) {
+        this.deleteEntriesByObjectIdentities = deleteEntriesByObjectIdentities;
+    }
+
+    public void setDeleteObjectIdentitiesSql(String deleteObjectIdentities) {
+        this.deleteObjectIdentities = deleteObjectIdentities;
+    }
+
+    /**
+     * Sets the maximum number of values bound to a single in clause, 500 by default.
+     *
+     * @param maxInClauseSize
+     */
+    public void setMaxInClauseSize(int maxInClauseSize) {
+        Assert.isTrue(maxInClauseSize > 0, "MaxInClauseSize must be greater than 0!");
+        this.maxInClauseSize = maxInClauseSize;
+    }
+
+    public void setUpdateObjectIdentityParentSql(String updateObjectIdentityParent) {
+        this.updateObjectIdentityParent = updateObjectIdentityParent;
+    }
+}
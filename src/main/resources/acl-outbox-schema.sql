@@ -0,0 +1,16 @@
+create table acl_outbox (
+    id bigint generated by default as identity primary key,
+    entity_class varchar(255) not null,
+    entity_id varchar(255) not null,
+    object_id_identity varchar(255) not null,
+    object_id_type varchar(255) not null,
+    operation varchar(10) not null,
+    entity_version bigint,
+    attempts integer default 0 not null,
+    next_attempt timestamp not null,
+    claimed_by varchar(64),
+    claimed_until timestamp
+);
+
+create index ix_acl_outbox_next_attempt on acl_outbox (next_attempt);
+create index ix_acl_outbox_object_identity on acl_outbox (entity_class, object_id_identity);
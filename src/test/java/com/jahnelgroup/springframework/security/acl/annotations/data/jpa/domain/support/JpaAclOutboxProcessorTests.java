@@ -0,0 +1,266 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredHandler;
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import com.jahnelgroup.springframework.security.acl.annotations.outbox.JdbcAclOutbox;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link JpaAclOutboxProcessor} draining a {@link JdbcAclOutbox} of Hibernate entities on H2.
+ *
+ * @author Steven Zgaljic
+ */
+public class JpaAclOutboxProcessorTests {
+
+    private static final long BACKOFF = 60000;
+
+    private EmbeddedDatabase dataSource;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private RecordingAclSecuredHandler handler;
+    private JpaAclOutboxProcessor processor;
+
+    @Before
+    public void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScript("classpath:acl-outbox-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+        vendorAdapter.setGenerateDdl(true);
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(vendorAdapter);
+        entityManagerFactory.setPackagesToScan(getClass().getPackage().getName());
+        entityManagerFactory.afterPropertiesSet();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        handler = new RecordingAclSecuredHandler();
+        processor = new JpaAclOutboxProcessor();
+        processor.setAclSecuredHandler(handler);
+        processor.setMetadataRegistry(new AclSecuredMetadataRegistry());
+        processor.setAclOutbox(new JdbcAclOutbox(dataSource));
+        processor.setEntityManagerFactory(entityManagerFactory.getObject());
+        processor.setTransactionManager(transactionManager);
+        processor.setWorkers(2);
+        processor.setMaxAttempts(2);
+        processor.setRetryBackoff(BACKOFF);
+        // drained by the tests only
+        processor.setPollInterval(3600000);
+        processor.afterPropertiesSet();
+        processor.start();
+    }
+
+    @After
+    public void tearDown() {
+        processor.stop();
+        entityManagerFactory.destroy();
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void drainHandsTheLatestStateOfEachObjectIdentityToTheHandler() {
+        Document first = save(new Document(1L), AclSecuredOperation.CREATE);
+        save(new Document(2L), AclSecuredOperation.CREATE);
+        first.name = "renamed";
+        save(first, AclSecuredOperation.UPDATE);
+        save(new Document(3L), AclSecuredOperation.UPDATE);
+        delete(2L);
+        assertThat(processor.getQueueDepth()).isEqualTo(5);
+
+        processor.drain();
+
+        assertThat(handler.created).extracting(document -> document.id).containsExactly(1L);
+        assertThat(handler.created.get(0).name).isEqualTo("renamed");
+        assertThat(handler.updated).extracting(document -> document.id).containsExactly(3L);
+        assertThat(handler.deleted).containsExactly(oi(2L));
+        assertThat(processor.getQueueDepth()).isZero();
+        assertThat(processor.getFailedCount()).isZero();
+    }
+
+    @Test
+    public void entitiesOlderThanTheRecordedVersionAreRetriedLater() {
+        save(new Document(1L), AclSecuredOperation.CREATE);
+        jdbcTemplate.update("update acl_outbox set entity_version = entity_version + 1");
+
+        processor.drain();
+
+        assertThat(handler.created).isEmpty();
+        assertRescheduled(1L, 1);
+        assertThat(processor.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    public void failingGroupsAreRetriedWithBackoffWithoutHoldingBackOthers() {
+        save(new Document(1L), AclSecuredOperation.CREATE);
+        save(new Document(2L), AclSecuredOperation.CREATE);
+        handler.failing.add(1L);
+
+        processor.drain();
+
+        assertThat(handler.created).extracting(document -> document.id).containsExactly(2L);
+        assertRescheduled(1L, 1);
+        assertThat(processor.getQueueDepth()).isEqualTo(1);
+
+        jdbcTemplate.update("update acl_outbox set next_attempt = ?", new Timestamp(System.currentTimeMillis()));
+        processor.drain();
+
+        assertThat(processor.getQueueDepth()).isZero();
+        assertThat(processor.getFailedCount()).isEqualTo(1);
+    }
+
+    private void assertRescheduled(long id, int attempts) {
+        Map<String, Object> entry = jdbcTemplate.queryForMap("select attempts, next_attempt, claimed_by " +
+                "from acl_outbox where entity_id = ?", String.valueOf(id));
+        assertThat(entry.get("attempts")).isEqualTo(attempts);
+        assertThat(((Timestamp) entry.get("next_attempt")).getTime())
+                .isGreaterThan(System.currentTimeMillis() + BACKOFF / 2);
+        assertThat(entry.get("claimed_by")).isNull();
+    }
+
+    private Document save(Document document, AclSecuredOperation operation) {
+        return transactionTemplate.execute(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(
+                    entityManagerFactory.getObject());
+            Document saved = em.merge(document);
+            em.flush();
+            processor.record(saved, operation);
+            return saved;
+        });
+    }
+
+    private void delete(long id) {
+        transactionTemplate.execute(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(
+                    entityManagerFactory.getObject());
+            Document document = em.find(Document.class, id);
+            processor.record(document, AclSecuredOperation.DELETE);
+            em.remove(document);
+            return null;
+        });
+    }
+
+    private static ObjectIdentity oi(long id) {
+        return new ObjectIdentityImpl(Document.class, id);
+    }
+
+    @Entity
+    @Table(name = "document")
+    @AclSecured
+    public static class Document {
+
+        @Id
+        @AclObjectId
+        private Long id;
+
+        @Version
+        private Long version;
+
+        private String name;
+
+        protected Document() {
+        }
+
+        Document(Long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Records the Objects handed to it and fails for the {@link Document}'s whose id is in failing.
+     */
+    private static class RecordingAclSecuredHandler implements AclSecuredHandler {
+
+        private final List<Document> created = Collections.synchronizedList(new ArrayList<>());
+        private final List<Document> updated = Collections.synchronizedList(new ArrayList<>());
+        private final List<ObjectIdentity> deleted = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Long> failing = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public void createAcl(Object saved) {
+            createAcls(Collections.singletonList(saved));
+        }
+
+        @Override
+        public void updateAcl(Object saved) {
+            updateAcls(Collections.singletonList(saved));
+        }
+
+        @Override
+        public void deleteAcl(Object deleted) {
+            deleteAcls(Collections.singletonList(deleted));
+        }
+
+        @Override
+        public void createAcls(Collection<?> saved) {
+            created.addAll(documents(saved));
+        }
+
+        @Override
+        public void updateAcls(Collection<?> saved) {
+            updated.addAll(documents(saved));
+        }
+
+        @Override
+        public void deleteAcls(Collection<?> deleted) {
+            for(Object object : deleted)
+                this.deleted.add(getObjectIdentity(object));
+        }
+
+        @Override
+        public void deleteAclsById(Collection<ObjectIdentity> ois) {
+            deleted.addAll(ois);
+        }
+
+        @Override
+        public ObjectIdentity getObjectIdentity(Object object) {
+            return oi(((Document) object).id);
+        }
+
+        @Override
+        public void setAclService(MutableAclService aclService) {
+        }
+
+        @Override
+        public void setPermissionFactory(PermissionFactory permissionFactory) {
+        }
+
+        private List<Document> documents(Collection<?> saved) {
+            List<Document> documents = new ArrayList<>();
+            for(Object object : saved){
+                Document document = (Document) object;
+                if( failing.contains(document.id) )
+                    throw new IllegalStateException("Unable to write the ACL of " + document.id);
+                documents.add(document);
+            }
+            return documents;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.jahnelgroup.springframework.security.acl.annotations.data.jpa.domain.support;
+
+import com.jahnelgroup.springframework.security.acl.annotations.AclAce;
+import com.jahnelgroup.springframework.security.acl.annotations.AclObjectId;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSecured;
+import com.jahnelgroup.springframework.security.acl.annotations.AclSid;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclAceMetadata;
+import com.jahnelgroup.springframework.security.acl.annotations.metadata.AclSecuredMetadataRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link JpaAclSidValueLoader} with Hibernate on H2.
+ *
+ * @author Steven Zgaljic
+ */
+public class JpaAclSidValueLoaderTests {
+
+    private EmbeddedDatabase dataSource;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private JpaAclSidValueLoader loader;
+    private AclAceMetadata members;
+
+    @Before
+    public void setUp() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+
+        HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+        vendorAdapter.setGenerateDdl(true);
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(vendorAdapter);
+        entityManagerFactory.setPackagesToScan(getClass().getPackage().getName());
+        entityManagerFactory.afterPropertiesSet();
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory.getObject()));
+
+        loader = new JpaAclSidValueLoader();
+        loader.setEntityManagerFactories(Collections.singletonList(entityManagerFactory.getObject()));
+        members = new AclSecuredMetadataRegistry().getMetadata(Folder.class)
+                .getAce(Folder.class.getDeclaredField("members"));
+
+        execute(em -> {
+            Folder folder = new Folder(1L);
+            em.persist(folder);
+            em.persist(new Member("alice", folder));
+            return null;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        entityManagerFactory.destroy();
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void loadSelectsTheSidsOfAnUnloadedCollection() {
+        List<Serializable> sids = execute(em -> loader.load(em.find(Folder.class, 1L), members));
+
+        assertThat(sids).containsExactly("alice");
+    }
+
+    @Test
+    public void loadResolvesTheEntityOfAProxy() {
+        List<Serializable> sids = execute(em -> {
+            Folder folder = em.getReference(Folder.class, 1L);
+            assertThat(folder.getClass()).isNotEqualTo(Folder.class);
+            return loader.load(folder, members);
+        });
+
+        assertThat(sids).containsExactly("alice");
+    }
+
+    @Test
+    public void loadLeavesCollectionsWithQueuedOperationsToBeIterated() {
+        List<Serializable> sids = execute(em -> {
+            Folder folder = em.find(Folder.class, 1L);
+            Member bob = new Member("bob", folder);
+            folder.getMembers().add(bob);
+            em.persist(bob);
+            return loader.load(folder, members);
+        });
+
+        assertThat(sids).isNull();
+    }
+
+    private <T> T execute(Function<EntityManager, T> callback) {
+        return transactionTemplate.execute(status -> callback.apply(
+                EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject())));
+    }
+
+    @Entity
+    @Table(name = "folder")
+    @AclSecured
+    public static class Folder {
+
+        @Id
+        @AclObjectId
+        private Long id;
+
+        @OneToMany(mappedBy = "folder")
+        @AclAce
+        private List<Member> members = new ArrayList<>();
+
+        protected Folder() {
+        }
+
+        Folder(Long id) {
+            this.id = id;
+        }
+
+        public List<Member> getMembers() {
+            return members;
+        }
+    }
+
+    @Entity
+    @Table(name = "folder_member")
+    public static class Member {
+
+        @Id
+        @GeneratedValue
+        private Long id;
+
+        @AclSid
+        private String username;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        private Folder folder;
+
+        protected Member() {
+        }
+
+        Member(String username, Folder folder) {
+            this.username = username;
+            this.folder = folder;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.jahnelgroup.springframework.security.acl.annotations.outbox;
+
+import com.jahnelgroup.springframework.security.acl.annotations.handler.AclSecuredOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link JdbcAclOutbox} against acl-outbox-schema.sql on H2.
+ *
+ * @author Steven Zgaljic
+ */
+public class JdbcAclOutboxTests {
+
+    private static final String DOCUMENT = "com.example.Document";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long LEASE = 60000;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcAclOutbox outbox;
+
+    @Before
+    public void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScript("classpath:acl-outbox-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        outbox = new JdbcAclOutbox(dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void claimReturnsEntriesInRecordedOrderUpToTheLimit() {
+        record(1, AclSecuredOperation.CREATE, 1L);
+        record(2, AclSecuredOperation.CREATE, 1L);
+        record(1, AclSecuredOperation.UPDATE, 2L);
+
+        List<AclOutboxEntry> claimed = outbox.claim("node-a", 2, MAX_ATTEMPTS, LEASE);
+
+        assertThat(claimed).extracting(AclOutboxEntry::getObjectIdentity).containsExactly(oi(1), oi(2));
+        assertThat(claimed.get(0).getEntityClass()).isEqualTo(DOCUMENT);
+        assertThat(claimed.get(0).getEntityId()).isEqualTo("1");
+        assertThat(claimed.get(0).getOperation()).isEqualTo(AclSecuredOperation.CREATE);
+        assertThat(claimed.get(0).getEntityVersion()).isEqualTo(1L);
+        assertThat(claimed.get(0).getObjectIdentity().getIdentifier()).isEqualTo(1L);
+    }
+
+    @Test
+    public void claimedEntriesAreHeldUntilTheirLeaseExpires() {
+        record(1, AclSecuredOperation.CREATE, null);
+        assertThat(outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE)).hasSize(1);
+
+        assertThat(outbox.claim("node-b", 10, MAX_ATTEMPTS, LEASE)).isEmpty();
+        assertThat(outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE)).hasSize(1);
+
+        jdbcTemplate.update("update acl_outbox set claimed_until = ?",
+                new Timestamp(System.currentTimeMillis() - 1000));
+        assertThat(outbox.claim("node-b", 10, MAX_ATTEMPTS, LEASE)).hasSize(1);
+        assertThat(outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE)).isEmpty();
+    }
+
+    @Test
+    public void laterEntriesOfAnObjectIdentityWaitForEarlierOnes() {
+        record(1, AclSecuredOperation.CREATE, 1L);
+        List<AclOutboxEntry> first = outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE);
+        record(1, AclSecuredOperation.UPDATE, 2L);
+        record(2, AclSecuredOperation.CREATE, 1L);
+
+        // the update of 1 waits while its create is claimed by another node
+        assertThat(outbox.claim("node-b", 10, MAX_ATTEMPTS, LEASE)).extracting(AclOutboxEntry::getObjectIdentity)
+                .containsExactly(oi(2));
+
+        // and while its create waits for a retry
+        outbox.reschedule(first, LEASE);
+        assertThat(outbox.claim("node-c", 10, MAX_ATTEMPTS, LEASE)).isEmpty();
+
+        outbox.delete(first);
+        assertThat(outbox.claim("node-c", 10, MAX_ATTEMPTS, LEASE)).extracting(AclOutboxEntry::getEntityVersion)
+                .containsExactly(2L);
+    }
+
+    @Test
+    public void rescheduleCountsAttemptsAndPostponesTheEntry() {
+        record(1, AclSecuredOperation.CREATE, null);
+        List<AclOutboxEntry> claimed = outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE);
+
+        outbox.reschedule(claimed, LEASE);
+        assertThat(outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE)).isEmpty();
+        Timestamp nextAttempt = jdbcTemplate.queryForObject("select next_attempt from acl_outbox", Timestamp.class);
+        assertThat(nextAttempt.getTime()).isGreaterThan(System.currentTimeMillis() + LEASE / 2);
+
+        outbox.reschedule(claimed, 0);
+        claimed = outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE);
+        assertThat(claimed).extracting(AclOutboxEntry::getAttempts).containsExactly(2);
+    }
+
+    @Test
+    public void entriesExceedingTheMaximumAttemptsAreCountedAsFailed() {
+        record(1, AclSecuredOperation.CREATE, null);
+        record(2, AclSecuredOperation.CREATE, null);
+        record(3, AclSecuredOperation.DELETE, null);
+        assertThat(outbox.countPending(MAX_ATTEMPTS)).isEqualTo(3);
+        assertThat(outbox.countFailed(MAX_ATTEMPTS)).isZero();
+
+        List<AclOutboxEntry> claimed = outbox.claim("node-a", 1, MAX_ATTEMPTS, LEASE);
+        for(int i=0; i<MAX_ATTEMPTS; i++)
+            outbox.reschedule(claimed, 0);
+
+        assertThat(outbox.countPending(MAX_ATTEMPTS)).isEqualTo(2);
+        assertThat(outbox.countFailed(MAX_ATTEMPTS)).isEqualTo(1);
+        assertThat(outbox.claim("node-a", 10, MAX_ATTEMPTS, LEASE)).extracting(AclOutboxEntry::getObjectIdentity)
+                .containsExactly(oi(2), oi(3));
+    }
+
+    private void record(long id, AclSecuredOperation operation, Long version) {
+        outbox.record(DOCUMENT, String.valueOf(id), oi(id), operation, version);
+    }
+
+    private static ObjectIdentity oi(long id) {
+        return new ObjectIdentityImpl(DOCUMENT, id);
+    }
+}
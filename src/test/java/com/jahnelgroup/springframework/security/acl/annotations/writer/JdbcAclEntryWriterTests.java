@@ -0,0 +1,221 @@
+package com.jahnelgroup.springframework.security.acl.annotations.writer;
+
+import com.jahnelgroup.springframework.security.acl.annotations.util.Tuple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.acls.domain.*;
+import org.springframework.security.acls.jdbc.BasicLookupStrategy;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.model.*;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests {@link JdbcAclEntryWriter} against the standard acl_* schema of Spring Security ACL on H2.
+ *
+ * @author Steven Zgaljic
+ */
+public class JdbcAclEntryWriterTests {
+
+    private static final String DOCUMENT = "com.example.Document";
+    private static final String FOLDER = "com.example.Folder";
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcMutableAclService aclService;
+    private JdbcAclEntryWriter writer;
+
+    @Before
+    public void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScript("classpath:createAclSchema.sql").build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        AclAuthorizationStrategy authorizationStrategy =
+                new AclAuthorizationStrategyImpl(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        PermissionGrantingStrategy grantingStrategy = new DefaultPermissionGrantingStrategy(new ConsoleAuditLogger());
+        AclCache aclCache = new SpringCacheBasedAclCache(new ConcurrentMapCache("acl"), grantingStrategy,
+                authorizationStrategy);
+        aclService = new JdbcMutableAclService(dataSource,
+                new BasicLookupStrategy(dataSource, aclCache, authorizationStrategy, grantingStrategy), aclCache);
+        writer = new JdbcAclEntryWriter(dataSource, aclService, aclCache);
+        writer.setMaxInClauseSize(2);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN"));
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void createAclsInsertsMissingRowsAndReadsExistingOnes() {
+        Map<ObjectIdentity, MutableAcl> created = createAcls(oi(DOCUMENT, 1), oi(DOCUMENT, 2), oi(FOLDER, 1));
+
+        assertThat(created).hasSize(3);
+        assertThat(count("acl_object_identity")).isEqualTo(3);
+        assertThat(count("acl_class")).isEqualTo(2);
+        assertThat(created.get(oi(DOCUMENT, 1)).getOwner()).isEqualTo(new PrincipalSid("admin"));
+
+        Map<ObjectIdentity, MutableAcl> again = createAcls(oi(DOCUMENT, 1), oi(DOCUMENT, 3));
+
+        assertThat(again).hasSize(2);
+        assertThat(again.get(oi(DOCUMENT, 1)).getId()).isEqualTo(created.get(oi(DOCUMENT, 1)).getId());
+        assertThat(count("acl_object_identity")).isEqualTo(4);
+        assertThat(count("acl_class")).isEqualTo(2);
+    }
+
+    @Test
+    public void findExistingAclsReturnsOnlyStoredIdentities() {
+        createAcls(oi(DOCUMENT, 1), oi(DOCUMENT, 2), oi(DOCUMENT, 3));
+
+        Set<ObjectIdentity> existing = writer.findExistingAcls(
+                Arrays.asList(oi(DOCUMENT, 1), oi(DOCUMENT, 3), oi(DOCUMENT, 4), oi(FOLDER, 1)));
+
+        assertThat(existing).containsExactlyInAnyOrder(oi(DOCUMENT, 1), oi(DOCUMENT, 3));
+    }
+
+    @Test
+    public void writeAppendsAddedEntriesAfterTheHighestAceOrder() {
+        createAcls(oi(DOCUMENT, 1), oi(DOCUMENT, 2));
+        MutableAcl acl = read(oi(DOCUMENT, 1));
+        write(acl, Collections.emptyList(), ace(acl, new PrincipalSid("alice"), BasePermission.READ),
+                ace(acl, new PrincipalSid("bob"), BasePermission.READ));
+
+        acl = read(oi(DOCUMENT, 1));
+        assertThat(acl.getEntries()).hasSize(2);
+        write(acl, Collections.singletonList(acl.getEntries().get(0)),
+                ace(acl, new GrantedAuthoritySid("ROLE_USER"), BasePermission.WRITE));
+
+        List<AccessControlEntry> entries = read(oi(DOCUMENT, 1)).getEntries();
+        assertThat(entries).extracting(AccessControlEntry::getSid)
+                .containsExactly(new PrincipalSid("bob"), new GrantedAuthoritySid("ROLE_USER"));
+        assertThat(jdbcTemplate.queryForList("select ace_order from acl_entry order by ace_order", Integer.class))
+                .containsExactly(1, 2);
+        assertThat(read(oi(DOCUMENT, 2)).getEntries()).isEmpty();
+    }
+
+    @Test
+    public void writeReusesSidsIgnoringTheirCase() {
+        createAcls(oi(DOCUMENT, 1), oi(DOCUMENT, 2));
+        grant(oi(DOCUMENT, 1), new PrincipalSid("alice"));
+        grant(oi(DOCUMENT, 2), new PrincipalSid("ALICE"));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from acl_sid where principal = true and " +
+                "sid = 'alice'", Long.class)).isEqualTo(1);
+        assertThat(count("acl_entry")).isEqualTo(2);
+    }
+
+    @Test
+    public void writeUpdatesTheParentOfSeveralAcls() {
+        createAcls(oi(FOLDER, 1), oi(DOCUMENT, 1), oi(DOCUMENT, 2));
+
+        List<Tuple<MutableAcl, AclEntryDelta>> deltas = new ArrayList<>();
+        for(ObjectIdentity oi : Arrays.asList(oi(DOCUMENT, 1), oi(DOCUMENT, 2))){
+            MutableAcl acl = read(oi);
+            acl.setParent(read(oi(FOLDER, 1)));
+            acl.setEntriesInheriting(false);
+            deltas.add(new Tuple<>(acl, new AclEntryDelta(Collections.emptyList(), Collections.emptyList(), true)));
+        }
+        transactionTemplate.execute(status -> { writer.write(deltas); return null; });
+
+        for(ObjectIdentity oi : Arrays.asList(oi(DOCUMENT, 1), oi(DOCUMENT, 2))){
+            Acl acl = read(oi);
+            assertThat(acl.getParentAcl().getObjectIdentity()).isEqualTo(oi(FOLDER, 1));
+            assertThat(acl.isEntriesInheriting()).isFalse();
+        }
+    }
+
+    @Test
+    public void writeRejectsAMissingParent() {
+        createAcls(oi(FOLDER, 1), oi(DOCUMENT, 1));
+        MutableAcl acl = read(oi(DOCUMENT, 1));
+        acl.setParent(read(oi(FOLDER, 1)));
+        jdbcTemplate.update("delete from acl_object_identity where object_id_identity = 1 and object_id_class = " +
+                "(select id from acl_class where class = ?)", FOLDER);
+
+        assertThatThrownBy(() -> transactionTemplate.execute(status -> {
+            writer.write(acl, new AclEntryDelta(Collections.emptyList(), Collections.emptyList(), true));
+            return null;
+        })).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    public void deleteAclsRemovesTheWholeSubtree() {
+        createAcls(oi(FOLDER, 1), oi(FOLDER, 2), oi(DOCUMENT, 1), oi(DOCUMENT, 2), oi(DOCUMENT, 3));
+        setParent(oi(FOLDER, 2), oi(FOLDER, 1));
+        setParent(oi(DOCUMENT, 1), oi(FOLDER, 1));
+        setParent(oi(DOCUMENT, 2), oi(FOLDER, 2));
+        grant(oi(DOCUMENT, 2), new PrincipalSid("alice"));
+        grant(oi(DOCUMENT, 3), new PrincipalSid("alice"));
+
+        int descendants = transactionTemplate.execute(status ->
+                writer.deleteAcls(Collections.singletonList(oi(FOLDER, 1))));
+
+        assertThat(descendants).isEqualTo(3);
+        assertThat(writer.findExistingAcls(Arrays.asList(oi(FOLDER, 1), oi(FOLDER, 2), oi(DOCUMENT, 1),
+                oi(DOCUMENT, 2), oi(DOCUMENT, 3)))).containsExactly(oi(DOCUMENT, 3));
+        assertThat(count("acl_entry")).isEqualTo(1);
+        assertThatThrownBy(() -> aclService.readAclById(oi(DOCUMENT, 2))).isInstanceOf(NotFoundException.class);
+    }
+
+    private Map<ObjectIdentity, MutableAcl> createAcls(ObjectIdentity... ois) {
+        return transactionTemplate.execute(status -> writer.createAcls(Arrays.asList(ois)));
+    }
+
+    private void write(MutableAcl acl, List<AccessControlEntry> removed, AccessControlEntry... added) {
+        transactionTemplate.execute(status -> {
+            writer.write(acl, new AclEntryDelta(removed, Arrays.asList(added), false));
+            return null;
+        });
+    }
+
+    private void grant(ObjectIdentity oi, Sid sid) {
+        MutableAcl acl = read(oi);
+        write(acl, Collections.emptyList(), ace(acl, sid, BasePermission.READ));
+    }
+
+    private void setParent(ObjectIdentity oi, ObjectIdentity parent) {
+        MutableAcl acl = read(oi);
+        acl.setParent(read(parent));
+        transactionTemplate.execute(status -> {
+            writer.write(acl, new AclEntryDelta(Collections.emptyList(), Collections.emptyList(), true));
+            return null;
+        });
+    }
+
+    private MutableAcl read(ObjectIdentity oi) {
+        return (MutableAcl) aclService.readAclById(oi);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private static ObjectIdentity oi(String type, long id) {
+        return new ObjectIdentityImpl(type, id);
+    }
+
+    private static AccessControlEntry ace(Acl acl, Sid sid, Permission permission) {
+        return new AccessControlEntryImpl(null, acl, sid, permission, true, false, false);
+    }
+}